@@ -29,6 +29,7 @@ import net.minestom.server.thread.Acquirable;
 import net.minestom.server.thread.ThreadDispatcher;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.collection.MappedCollection;
 import net.minestom.server.world.DimensionTypeManager;
 import net.minestom.server.world.biomes.BiomeManager;
@@ -48,6 +49,8 @@ import java.util.concurrent.atomic.AtomicReference;
 
 final class ServerProcessImpl implements ServerProcess {
     private final static Logger LOGGER = LoggerFactory.getLogger(ServerProcessImpl.class);
+    // Instance ticks (scheduled tasks, tick events) of different instances then run concurrently
+    private static final boolean PARALLEL_INSTANCE_TICK = PropertyUtils.getBoolean("minestom.parallel-instance-tick", false);
 
     private final ExceptionManager exception;
     private final ExtensionManager extension;
@@ -80,13 +83,14 @@ final class ServerProcessImpl implements ServerProcess {
         this.extension = new ExtensionManager(this);
         this.connection = new ConnectionManager();
         this.packetProcessor = new PacketProcessor();
+        // Required by the packet listeners
+        this.eventHandler = new GlobalEventHandler();
         this.packetListener = new PacketListenerManager(this);
         this.instance = new InstanceManager();
         this.block = new BlockManager();
         this.command = new CommandManager();
         this.recipe = new RecipeManager();
         this.team = new TeamManager();
-        this.eventHandler = new GlobalEventHandler();
         this.scheduler = new SchedulerManager();
         this.benchmark = new BenchmarkManager();
         this.dimension = new DimensionTypeManager();
@@ -284,6 +288,8 @@ final class ServerProcessImpl implements ServerProcess {
 
     private final class TickerImpl implements Ticker {
         private int currentTick = 0;
+        // Phase durations of the current tick, in nanoseconds
+        private long instanceTickTime, dispatcherTickTime, flushTime;
 
         @Override
         public void tick(long nanoTime) {
@@ -301,13 +307,16 @@ final class ServerProcessImpl implements ServerProcess {
             serverTick(msTime);
 
             // Flush all waiting packets
-            PacketUtils.flush();
+            final long flushStart = System.nanoTime();
+            PacketUtils.flush(dispatcher());
+            this.flushTime = System.nanoTime() - flushStart;
 
             // Monitoring
             {
                 final double acquisitionTimeMs = Acquirable.resetAcquiringTime() / 1e6D;
                 final double tickTimeMs = (System.nanoTime() - nanoTime) / 1e6D;
-                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs);
+                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs,
+                        instanceTickTime / 1e6D, dispatcherTickTime / 1e6D, flushTime / 1e6D);
                 EventDispatcher.call(new ServerTickMonitorEvent(tickMonitor));
             }
 
@@ -321,15 +330,24 @@ final class ServerProcessImpl implements ServerProcess {
 
         private void serverTick(long tickStart) {
             // Tick all instances
-            for (Instance instance : instance().getInstances()) {
-                try {
-                    instance.tick(tickStart);
-                } catch (Exception e) {
-                    exception().handleException(e);
+            final long instanceStart = System.nanoTime();
+            if (PARALLEL_INSTANCE_TICK) {
+                dispatcher().forEachParallel(List.copyOf(instance().getInstances()),
+                        instance -> instance.tick(tickStart));
+            } else {
+                for (Instance instance : instance().getInstances()) {
+                    try {
+                        instance.tick(tickStart);
+                    } catch (Exception e) {
+                        exception().handleException(e);
+                    }
                 }
             }
             // Tick all chunks (and entities inside)
+            final long dispatcherStart = System.nanoTime();
+            this.instanceTickTime = dispatcherStart - instanceStart;
             dispatcher().updateAndAwait(tickStart);
+            this.dispatcherTickTime = System.nanoTime() - dispatcherStart;
 
             // Clear removed entities & update threads
             final long tickTime = System.currentTimeMillis() - tickStart;
@@ -0,0 +1,221 @@
+package net.minestom.server.collision;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes apart the overlapping entities of an instance, similarly to vanilla mobs.
+ * <p>
+ * Only entities with {@link Entity#getCollisionGroups() collision groups} take part, two entities collide
+ * if the groups of each one are part of the {@link Entity#getCollisionMask() mask} of the other.
+ * The instance keeps track of these entities as they join it or change their groups,
+ * so that the other entities are never iterated.
+ * Pairs are found using a uniform spatial hash of the bounding boxes rebuilt every tick,
+ * the cost therefore depends on the number of close entities instead of growing with the square of the total.
+ * <p>
+ * Run by the instance tick, before its entities are ticked. Players push other entities but are never pushed,
+ * their movement being handled by the client.
+ */
+@ApiStatus.Internal
+@ApiStatus.Experimental
+public final class EntityCollision {
+    private static final int CELL_SIZE = Integer.getInteger("minestom.entity-collision-cell-size", 2);
+    // Velocity given to each entity of an overlapping pair, in blocks per tick
+    private static final double PUSH_STRENGTH = 0.05;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private int[] groups = new int[INITIAL_CAPACITY], masks = new int[INITIAL_CAPACITY];
+    private double[] posX = new double[INITIAL_CAPACITY], posZ = new double[INITIAL_CAPACITY];
+    private double[] minX = new double[INITIAL_CAPACITY], minY = new double[INITIAL_CAPACITY], minZ = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY], maxY = new double[INITIAL_CAPACITY], maxZ = new double[INITIAL_CAPACITY];
+    private int[] cellX = new int[INITIAL_CAPACITY], cellZ = new int[INITIAL_CAPACITY];
+    private double[] pushX = new double[INITIAL_CAPACITY], pushZ = new double[INITIAL_CAPACITY];
+    private int size;
+
+    // Key = ChunkUtils#getChunkIndex of the cell coordinates
+    private final Long2ObjectOpenHashMap<IntArrayList> cells = new Long2ObjectOpenHashMap<>();
+    private final List<IntArrayList> freeCells = new ArrayList<>();
+
+    // Entities which had collision groups when added, checked again every tick
+    private final Set<Entity> participants = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Adds or removes an entity from the entities taking part, depending on its collision groups.
+     *
+     * @param entity the entity of the instance
+     */
+    public void update(@NotNull Entity entity) {
+        if (entity.getCollisionGroups() != 0) {
+            this.participants.add(entity);
+        } else {
+            this.participants.remove(entity);
+        }
+    }
+
+    /**
+     * Removes an entity leaving the instance.
+     *
+     * @param entity the removed entity
+     */
+    public void remove(@NotNull Entity entity) {
+        this.participants.remove(entity);
+    }
+
+    /**
+     * Resolves the collisions between the entities registered using {@link #update(Entity)}.
+     */
+    public void tick() {
+        // Drop the entities removed without leaving the instance
+        this.participants.removeIf(entity -> entity.isRemoved() || entity.getCollisionGroups() == 0);
+        tick(participants);
+    }
+
+    /**
+     * Resolves the collisions between entities.
+     *
+     * @param candidates the entities of the instance
+     */
+    public void tick(@NotNull Iterable<? extends Entity> candidates) {
+        for (Entity entity : candidates) {
+            final int groups = entity.getCollisionGroups();
+            if (groups == 0 || entity.isRemoved() || entity.getVehicle() != null) continue;
+            add(entity, groups, entity.getCollisionMask());
+        }
+        final int size = this.size;
+        if (size < 2) {
+            clear();
+            return;
+        }
+        try {
+            for (int i = 0; i < size; i++) insert(i);
+            for (Long2ObjectMap.Entry<IntArrayList> entry : cells.long2ObjectEntrySet()) {
+                final long key = entry.getLongKey();
+                collide(ChunkUtils.getChunkCoordX(key), ChunkUtils.getChunkCoordZ(key), entry.getValue());
+            }
+            for (int i = 0; i < size; i++) {
+                final Entity entity = entities[i];
+                if ((pushX[i] != 0 || pushZ[i] != 0) && !(entity instanceof Player)) {
+                    entity.push(pushX[i], pushZ[i]);
+                }
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    private void add(Entity entity, int groups, int mask) {
+        final int index = this.size;
+        if (index == entities.length) grow();
+        final Pos position = entity.getPosition();
+        final BoundingBox boundingBox = entity.getBoundingBox();
+        this.entities[index] = entity;
+        this.groups[index] = groups;
+        this.masks[index] = mask;
+        this.posX[index] = position.x();
+        this.posZ[index] = position.z();
+        this.minX[index] = position.x() + boundingBox.minX();
+        this.minY[index] = position.y() + boundingBox.minY();
+        this.minZ[index] = position.z() + boundingBox.minZ();
+        this.maxX[index] = position.x() + boundingBox.maxX();
+        this.maxY[index] = position.y() + boundingBox.maxY();
+        this.maxZ[index] = position.z() + boundingBox.maxZ();
+        this.pushX[index] = 0;
+        this.pushZ[index] = 0;
+        this.size = index + 1;
+    }
+
+    private void insert(int index) {
+        final int fromX = Math.floorDiv((int) Math.floor(minX[index]), CELL_SIZE);
+        final int fromZ = Math.floorDiv((int) Math.floor(minZ[index]), CELL_SIZE);
+        final int toX = Math.floorDiv((int) Math.floor(maxX[index]), CELL_SIZE);
+        final int toZ = Math.floorDiv((int) Math.floor(maxZ[index]), CELL_SIZE);
+        this.cellX[index] = fromX;
+        this.cellZ[index] = fromZ;
+        for (int x = fromX; x <= toX; x++) {
+            for (int z = fromZ; z <= toZ; z++) {
+                final long key = ChunkUtils.getChunkIndex(x, z);
+                IntArrayList cell = cells.get(key);
+                if (cell == null) {
+                    cell = freeCells.isEmpty() ? new IntArrayList() : freeCells.remove(freeCells.size() - 1);
+                    cells.put(key, cell);
+                }
+                cell.add(index);
+            }
+        }
+    }
+
+    private void collide(int x, int z, IntArrayList cell) {
+        final int count = cell.size();
+        for (int a = 0; a < count; a++) {
+            final int i = cell.getInt(a);
+            for (int b = a + 1; b < count; b++) {
+                final int j = cell.getInt(b);
+                // Pairs sharing multiple cells are only resolved in the first one
+                if (x != Math.max(cellX[i], cellX[j]) || z != Math.max(cellZ[i], cellZ[j])) continue;
+                if ((groups[i] & masks[j]) == 0 || (groups[j] & masks[i]) == 0) continue;
+                if (minX[i] >= maxX[j] || maxX[i] <= minX[j] ||
+                        minY[i] >= maxY[j] || maxY[i] <= minY[j] ||
+                        minZ[i] >= maxZ[j] || maxZ[i] <= minZ[j]) continue;
+                push(i, j);
+            }
+        }
+    }
+
+    private void push(int i, int j) {
+        double deltaX = posX[j] - posX[i];
+        double deltaZ = posZ[j] - posZ[i];
+        double distance = Math.max(Math.abs(deltaX), Math.abs(deltaZ));
+        if (distance < 0.01) return;
+        distance = Math.sqrt(distance);
+        final double factor = Math.min(1, 1 / distance) * PUSH_STRENGTH / distance;
+        deltaX *= factor;
+        deltaZ *= factor;
+        this.pushX[i] -= deltaX;
+        this.pushZ[i] -= deltaZ;
+        this.pushX[j] += deltaX;
+        this.pushZ[j] += deltaZ;
+    }
+
+    private void clear() {
+        Arrays.fill(entities, 0, size, null);
+        for (IntArrayList cell : cells.values()) {
+            cell.clear();
+            freeCells.add(cell);
+        }
+        this.cells.clear();
+        this.size = 0;
+    }
+
+    private void grow() {
+        final int capacity = entities.length * 2;
+        this.entities = Arrays.copyOf(entities, capacity);
+        this.groups = Arrays.copyOf(groups, capacity);
+        this.masks = Arrays.copyOf(masks, capacity);
+        this.posX = Arrays.copyOf(posX, capacity);
+        this.posZ = Arrays.copyOf(posZ, capacity);
+        this.minX = Arrays.copyOf(minX, capacity);
+        this.minY = Arrays.copyOf(minY, capacity);
+        this.minZ = Arrays.copyOf(minZ, capacity);
+        this.maxX = Arrays.copyOf(maxX, capacity);
+        this.maxY = Arrays.copyOf(maxY, capacity);
+        this.maxZ = Arrays.copyOf(maxZ, capacity);
+        this.cellX = Arrays.copyOf(cellX, capacity);
+        this.cellZ = Arrays.copyOf(cellZ, capacity);
+        this.pushX = Arrays.copyOf(pushX, capacity);
+        this.pushZ = Arrays.copyOf(pushZ, capacity);
+    }
+}
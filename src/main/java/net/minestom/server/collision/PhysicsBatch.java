@@ -0,0 +1,284 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.PropertyUtils;
+import net.minestom.server.utils.chunk.ChunkCache;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Computes the physics of many entities in a single pass, before they are ticked.
+ * <p>
+ * Entities are stored as primitive arrays (struct of arrays) so that the swept bounds of the whole batch
+ * can be computed in tight loops. Only two cases are batched: entities resting on the block they previously landed on
+ * reuse their last result (as {@link BlockCollision} does), and entities whose swept bounds only contain blocks
+ * without collision shape are moved without running the sweep. The others fall back to the regular per-entity physics.
+ * Chunks are locked once per entity and chunk instead of once per block read.
+ * <p>
+ * Each tick thread owns a batch, filled with the moving entities of a partition right before ticking it.
+ * Results are only used if the entity position and velocity did not change in the meantime.
+ * Enabled using the {@code minestom.batch-physics} property.
+ */
+@ApiStatus.Internal
+@ApiStatus.Experimental
+public final class PhysicsBatch {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.batch-physics", false);
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double MOVE_FACTOR = 1 - Vec.EPSILON;
+
+    private Entity[] entities = new Entity[INITIAL_CAPACITY];
+    private Pos[] positions = new Pos[INITIAL_CAPACITY];
+    private Vec[] deltas = new Vec[INITIAL_CAPACITY];
+    private PhysicsResult[] lastResults = new PhysicsResult[INITIAL_CAPACITY];
+    private boolean[] onGround = new boolean[INITIAL_CAPACITY];
+    // Position and movement of the current tick
+    private double[] posX = new double[INITIAL_CAPACITY], posY = new double[INITIAL_CAPACITY], posZ = new double[INITIAL_CAPACITY];
+    private double[] deltaX = new double[INITIAL_CAPACITY], deltaY = new double[INITIAL_CAPACITY], deltaZ = new double[INITIAL_CAPACITY];
+    // Bounding box relative to the position, then swept bounds in world coordinates
+    private double[] minX = new double[INITIAL_CAPACITY], minY = new double[INITIAL_CAPACITY], minZ = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY], maxY = new double[INITIAL_CAPACITY], maxZ = new double[INITIAL_CAPACITY];
+    private boolean[] resting = new boolean[INITIAL_CAPACITY];
+    private boolean[] clear = new boolean[INITIAL_CAPACITY];
+    private double[] friction = new double[INITIAL_CAPACITY];
+    private int size;
+
+    // Last chunk looked up, entities of a batch are generally in the same one
+    private Instance cachedInstance;
+    private Chunk cachedChunk;
+
+    /**
+     * Adds an entity to the batch.
+     *
+     * @param entity            the entity to move
+     * @param position          the entity position
+     * @param delta             the movement of the tick, in blocks
+     * @param onGround          true if the entity is on ground, to compute the block friction
+     * @param lastPhysicsResult the previous physics result of the entity
+     */
+    public void add(@NotNull Entity entity, @NotNull Pos position, @NotNull Vec delta,
+                    boolean onGround, @Nullable PhysicsResult lastPhysicsResult) {
+        final int index = this.size;
+        if (index == entities.length) grow();
+        final BoundingBox boundingBox = entity.getBoundingBox();
+        this.entities[index] = entity;
+        this.positions[index] = position;
+        this.deltas[index] = delta;
+        this.lastResults[index] = lastPhysicsResult;
+        this.onGround[index] = onGround;
+        this.posX[index] = position.x();
+        this.posY[index] = position.y();
+        this.posZ[index] = position.z();
+        this.deltaX[index] = delta.x();
+        this.deltaY[index] = delta.y();
+        this.deltaZ[index] = delta.z();
+        this.minX[index] = boundingBox.minX();
+        this.minY[index] = boundingBox.minY();
+        this.minZ[index] = boundingBox.minZ();
+        this.maxX[index] = boundingBox.maxX();
+        this.maxY[index] = boundingBox.maxY();
+        this.maxZ[index] = boundingBox.maxZ();
+        this.size = index + 1;
+    }
+
+    /**
+     * Gets the number of entities waiting to be processed.
+     *
+     * @return the batch size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the physics of every entity in the batch, gives them the result
+     * using {@link Entity#batchedPhysics(PhysicsResult, double)}, and clears the batch.
+     */
+    public void process() {
+        final int size = this.size;
+        if (size == 0) return;
+        try {
+            sweptBounds(size);
+            for (int i = 0; i < size; i++) {
+                final Instance instance = entities[i].getInstance();
+                this.friction[i] = instance != null ? readFriction(instance, i) : Double.NaN;
+                this.resting[i] = instance != null && isResting(instance, i);
+                this.clear[i] = !resting[i] && instance != null && readBlocks(instance, i);
+            }
+            for (int i = 0; i < size; i++) {
+                final Entity entity = entities[i];
+                final PhysicsResult result = resting[i] ? lastResults[i] : clear[i] ? freeMove(i) : sweep(entity, i);
+                entity.batchedPhysics(result, friction[i]);
+            }
+        } finally {
+            Arrays.fill(entities, 0, size, null);
+            Arrays.fill(positions, 0, size, null);
+            Arrays.fill(deltas, 0, size, null);
+            Arrays.fill(lastResults, 0, size, null);
+            this.cachedInstance = null;
+            this.cachedChunk = null;
+            this.size = 0;
+        }
+    }
+
+    private void sweptBounds(int size) {
+        final double[] posX = this.posX, posY = this.posY, posZ = this.posZ;
+        final double[] deltaX = this.deltaX, deltaY = this.deltaY, deltaZ = this.deltaZ;
+        final double[] minX = this.minX, minY = this.minY, minZ = this.minZ;
+        final double[] maxX = this.maxX, maxY = this.maxY, maxZ = this.maxZ;
+        for (int i = 0; i < size; i++) {
+            minX[i] += posX[i] + Math.min(0, deltaX[i]);
+            maxX[i] += posX[i] + Math.max(0, deltaX[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            minY[i] += posY[i] + Math.min(0, deltaY[i]);
+            maxY[i] += posY[i] + Math.max(0, deltaY[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            minZ[i] += posZ[i] + Math.min(0, deltaZ[i]);
+            maxZ[i] += posZ[i] + Math.max(0, deltaZ[i]);
+        }
+    }
+
+    /**
+     * Reads the friction of the block below a grounded entity.
+     *
+     * @return the block friction, NaN if unknown
+     */
+    private double readFriction(Instance instance, int index) {
+        if (!onGround[index]) return Double.NaN;
+        final int x = (int) Math.floor(posX[index]);
+        final int y = (int) Math.floor(posY[index] - 0.5000001);
+        final int z = (int) Math.floor(posZ[index]);
+        final Chunk chunk = chunk(instance, ChunkUtils.getChunkCoordinate(x), ChunkUtils.getChunkCoordinate(z));
+        if (chunk == null) return Double.NaN;
+        synchronized (chunk) {
+            return chunk.getBlock(x, y, z, Block.Getter.Condition.TYPE).registry().friction();
+        }
+    }
+
+    /**
+     * Checks if the entity still rests on the block it landed on, in which case its last result can be reused.
+     * Same conditions as the cache of {@link BlockCollision#handlePhysics(BoundingBox, Vec, Pos, Block.Getter, PhysicsResult)}.
+     */
+    private boolean isResting(Instance instance, int index) {
+        final PhysicsResult last = lastResults[index];
+        if (last == null || !last.collisionY() || last.blockTypeY() == Block.AIR) return false;
+        final Point blockPosition = last.collidedBlockY();
+        if (blockPosition == null) return false;
+        if (deltaX[index] != 0 || deltaZ[index] != 0 || deltaY[index] != last.originalDelta().y()) return false;
+        if (!positions[index].samePoint(last.newPosition())) return false;
+        final Chunk chunk = chunk(instance, blockPosition.chunkX(), blockPosition.chunkZ());
+        if (chunk == null) return false;
+        synchronized (chunk) {
+            return chunk.getBlock(blockPosition, Block.Getter.Condition.TYPE) == last.blockTypeY();
+        }
+    }
+
+    /**
+     * Checks if the swept bounds of the entity are free of collision shapes.
+     * <p>
+     * The layer below the bounds is included as tall shapes (fences, walls) extend into the block above.
+     *
+     * @return true if the entity can move without colliding
+     */
+    private boolean readBlocks(Instance instance, int index) {
+        final int startX = (int) Math.floor(minX[index]), endX = (int) Math.floor(maxX[index]);
+        final int startY = (int) Math.floor(minY[index]) - 1, endY = (int) Math.floor(maxY[index]);
+        final int startZ = (int) Math.floor(minZ[index]), endZ = (int) Math.floor(maxZ[index]);
+        for (int chunkX = ChunkUtils.getChunkCoordinate(startX); chunkX <= ChunkUtils.getChunkCoordinate(endX); chunkX++) {
+            for (int chunkZ = ChunkUtils.getChunkCoordinate(startZ); chunkZ <= ChunkUtils.getChunkCoordinate(endZ); chunkZ++) {
+                final Chunk chunk = chunk(instance, chunkX, chunkZ);
+                // Unloaded chunks are considered solid
+                if (chunk == null) return false;
+                final int fromX = Math.max(startX, chunkX * Chunk.CHUNK_SIZE_X);
+                final int toX = Math.min(endX, chunkX * Chunk.CHUNK_SIZE_X + Chunk.CHUNK_SIZE_X - 1);
+                final int fromZ = Math.max(startZ, chunkZ * Chunk.CHUNK_SIZE_Z);
+                final int toZ = Math.min(endZ, chunkZ * Chunk.CHUNK_SIZE_Z + Chunk.CHUNK_SIZE_Z - 1);
+                synchronized (chunk) {
+                    for (int y = startY; y <= endY; y++) {
+                        for (int x = fromX; x <= toX; x++) {
+                            for (int z = fromZ; z <= toZ; z++) {
+                                final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.TYPE);
+                                if (!block.registry().collisionShape().isEmpty()) return false;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private @Nullable Chunk chunk(Instance instance, int chunkX, int chunkZ) {
+        Chunk chunk = this.cachedChunk;
+        if (instance != cachedInstance || chunk == null || !chunk.isLoaded() ||
+                chunk.getChunkX() != chunkX || chunk.getChunkZ() != chunkZ) {
+            chunk = instance.getChunk(chunkX, chunkZ);
+            if (chunk == null || !chunk.isLoaded()) return null;
+            this.cachedInstance = instance;
+            this.cachedChunk = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Same result as {@link BlockCollision#handlePhysics(BoundingBox, Vec, Pos, Block.Getter, PhysicsResult)}
+     * when nothing is hit.
+     */
+    private PhysicsResult freeMove(int index) {
+        double moveX = deltaX[index] * MOVE_FACTOR;
+        double moveY = deltaY[index] * MOVE_FACTOR;
+        double moveZ = deltaZ[index] * MOVE_FACTOR;
+        if (Math.abs(moveX) < Vec.EPSILON) moveX = 0;
+        if (Math.abs(moveY) < Vec.EPSILON) moveY = 0;
+        if (Math.abs(moveZ) < Vec.EPSILON) moveZ = 0;
+        final Vec delta = deltas[index];
+        return new PhysicsResult(positions[index].add(moveX, moveY, moveZ), delta,
+                false, false, false, false, delta, null, Block.AIR);
+    }
+
+    private PhysicsResult sweep(Entity entity, int index) {
+        final Instance instance = entity.getInstance();
+        final Pos position = positions[index];
+        final Vec delta = deltas[index];
+        if (instance == null) {
+            return new PhysicsResult(position, delta, false, false, false, false, delta, null, Block.AIR);
+        }
+        final Block.Getter getter = new ChunkCache(instance, entity.getChunk(), Block.STONE);
+        return BlockCollision.handlePhysics(entity.getBoundingBox(), delta, position, getter, lastResults[index]);
+    }
+
+    private void grow() {
+        final int capacity = entities.length * 2;
+        this.entities = Arrays.copyOf(entities, capacity);
+        this.positions = Arrays.copyOf(positions, capacity);
+        this.deltas = Arrays.copyOf(deltas, capacity);
+        this.lastResults = Arrays.copyOf(lastResults, capacity);
+        this.onGround = Arrays.copyOf(onGround, capacity);
+        this.posX = Arrays.copyOf(posX, capacity);
+        this.posY = Arrays.copyOf(posY, capacity);
+        this.posZ = Arrays.copyOf(posZ, capacity);
+        this.deltaX = Arrays.copyOf(deltaX, capacity);
+        this.deltaY = Arrays.copyOf(deltaY, capacity);
+        this.deltaZ = Arrays.copyOf(deltaZ, capacity);
+        this.minX = Arrays.copyOf(minX, capacity);
+        this.minY = Arrays.copyOf(minY, capacity);
+        this.minZ = Arrays.copyOf(minZ, capacity);
+        this.maxX = Arrays.copyOf(maxX, capacity);
+        this.maxY = Arrays.copyOf(maxY, capacity);
+        this.maxZ = Arrays.copyOf(maxZ, capacity);
+        this.resting = Arrays.copyOf(resting, capacity);
+        this.clear = Arrays.copyOf(clear, capacity);
+        this.friction = Arrays.copyOf(friction, capacity);
+    }
+}
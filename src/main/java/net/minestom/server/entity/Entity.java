@@ -1,5 +1,6 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -11,6 +12,7 @@ import net.minestom.server.Tickable;
 import net.minestom.server.Viewable;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.collision.CollisionUtils;
+import net.minestom.server.collision.PhysicsBatch;
 import net.minestom.server.collision.PhysicsResult;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
@@ -23,6 +25,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventHandler;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.entity.*;
 import net.minestom.server.event.instance.AddEntityToInstanceEvent;
 import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
@@ -56,7 +59,6 @@ import net.minestom.server.utils.ArrayUtils;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
 import net.minestom.server.utils.block.BlockIterator;
-import net.minestom.server.utils.chunk.ChunkCache;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.player.PlayerUtils;
 import net.minestom.server.utils.time.Cooldown;
@@ -105,6 +107,16 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
 
     private BoundingBox boundingBox;
     private PhysicsResult lastPhysicsResult = null;
+    // Physics computed ahead of the tick by a PhysicsBatch, only valid for the position and velocity it was computed from
+    private PhysicsResult batchedPhysics;
+    private Pos batchedPosition;
+    private Vec batchedVelocity;
+    private double batchedFriction = Double.NaN;
+    // Last state for which no block has been touched, see #touchTick()
+    private Chunk untouchedChunk;
+    private int untouchedVersion;
+    private Pos untouchedPosition;
+    private BoundingBox untouchedBoundingBox;
 
     protected Entity vehicle;
 
@@ -112,6 +124,9 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     protected Vec velocity = Vec.ZERO; // Movement in block per second
     protected boolean lastVelocityWasZero = true;
     protected boolean hasPhysics = true;
+    // Entity collisions, see EntityCollision
+    private int collisionGroups;
+    private int collisionMask = -1;
 
     /**
      * The amount of drag applied on the Y axle.
@@ -178,6 +193,8 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
 
     // Tick related
     private long ticks;
+    // Retrieved on the first tick, entities can be created before the server
+    private ListenerHandle<EntityTickEvent> tickEventHandle;
 
     private final Acquirable<? extends Entity> acquirable = Acquirable.of(this);
     private final AtomicReference<CancellableState.Holder<Entity>> stateHolder;
@@ -562,7 +579,11 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             update(time);
 
             ticks++;
-            EventDispatcher.call(new EntityTickEvent(this));
+            ListenerHandle<EntityTickEvent> tickEventHandle = this.tickEventHandle;
+            if (tickEventHandle == null) {
+                this.tickEventHandle = tickEventHandle = EventDispatcher.getHandle(EntityTickEvent.class);
+            }
+            if (tickEventHandle.hasListener()) tickEventHandle.call(new EntityTickEvent(this));
 
             // remove expired effects
             effectTick(time);
@@ -591,7 +612,9 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final Pos newPosition;
         final Vec newVelocity;
         if (this.hasPhysics) {
-            final var physicsResult = CollisionUtils.handlePhysics(this, deltaPos, lastPhysicsResult);
+            PhysicsResult physicsResult = consumeBatchedPhysics();
+            if (physicsResult == null)
+                physicsResult = CollisionUtils.handlePhysics(this, deltaPos, lastPhysicsResult);
             this.lastPhysicsResult = physicsResult;
             if (!PlayerUtils.isSocketClient(this))
                 this.onGround = physicsResult.isOnGround();
@@ -662,7 +685,11 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         EntitySpawnType type = entityType.registry().spawnType();
         final double airDrag = type == EntitySpawnType.LIVING || type == EntitySpawnType.PLAYER ? 0.91 : 0.98;
         final double drag;
-        if (wasOnGround) {
+        final double friction = this.batchedFriction;
+        this.batchedFriction = Double.NaN;
+        if (wasOnGround && !Double.isNaN(friction) && positionBeforeMove.equals(batchedPosition)) {
+            drag = friction * airDrag;
+        } else if (wasOnGround) {
             final Chunk chunk = ChunkUtils.retrieve(instance, currentChunk, position);
             synchronized (chunk) {
                 drag = chunk.getBlock(positionBeforeMove.sub(0, 0.5000001, 0)).registry().friction() * airDrag;
@@ -685,11 +712,61 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
                 .apply(Vec.Operator.EPSILON);
     }
 
+    /**
+     * Adds this entity to a physics batch if its next {@link #tick(long)} is going to move it.
+     * <p>
+     * Players are ignored, their movement being mostly driven by the client.
+     *
+     * @param batch the batch to add the entity to
+     */
+    @ApiStatus.Internal
+    public void preparePhysics(@NotNull PhysicsBatch batch) {
+        this.batchedPhysics = null;
+        this.batchedFriction = Double.NaN;
+        final Vec velocity = this.velocity;
+        if (!hasPhysics || vehicle != null || instance == null || isRemoved() ||
+                this instanceof Player || velocity.isZero()) return;
+        final Pos position = this.position;
+        this.batchedPosition = position;
+        this.batchedVelocity = velocity;
+        batch.add(this, position, velocity.div(MinecraftServer.TICK_PER_SECOND), onGround, lastPhysicsResult);
+    }
+
+    /**
+     * Called by {@link PhysicsBatch#process()} with the physics of the next tick.
+     *
+     * @param result   the physics result
+     * @param friction the friction of the block below the entity, {@link Double#NaN} if unknown
+     */
+    @ApiStatus.Internal
+    public void batchedPhysics(@NotNull PhysicsResult result, double friction) {
+        this.batchedPhysics = result;
+        this.batchedFriction = friction;
+    }
+
+    private @Nullable PhysicsResult consumeBatchedPhysics() {
+        final PhysicsResult result = this.batchedPhysics;
+        if (result == null) return null;
+        this.batchedPhysics = null;
+        if (!position.equals(batchedPosition) || !velocity.equals(batchedVelocity)) {
+            // Moved since the batch, the result is outdated
+            this.batchedFriction = Double.NaN;
+            return null;
+        }
+        return result;
+    }
+
     private void touchTick() {
-        // TODO do not call every tick (it is pretty expensive)
         final Pos position = this.position;
         final BoundingBox boundingBox = this.boundingBox;
-        ChunkCache cache = new ChunkCache(instance, currentChunk);
+        final Chunk untouchedChunk = this.untouchedChunk;
+        if (untouchedChunk != null && untouchedChunk.isLoaded() &&
+                untouchedChunk.getTouchableVersion() == untouchedVersion &&
+                position.samePoint(untouchedPosition) && boundingBox.equals(untouchedBoundingBox)) {
+            // Did not move and no touchable block changed since the last check
+            return;
+        }
+        this.untouchedChunk = null;
 
         final int minX = (int) Math.floor(boundingBox.minX() + position.x());
         final int maxX = (int) Math.ceil(boundingBox.maxX() + position.x());
@@ -698,23 +775,93 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final int minZ = (int) Math.floor(boundingBox.minZ() + position.z());
         final int maxZ = (int) Math.ceil(boundingBox.maxZ() + position.z());
 
-        for (int y = minY; y <= maxY; y++) {
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    final Block block = cache.getBlock(x, y, z, Block.Getter.Condition.CACHED);
-                    if (block == null) continue;
-                    final BlockHandler handler = block.handler();
-                    if (handler != null) {
-                        // Move a small amount towards the entity. If the entity is within 0.01 blocks of the block, touch will trigger
-                        Vec blockPos = new Vec(x, y, z);
-                        Point blockEntityVector = (blockPos.sub(position)).normalize().mul(0.01);
-                        if (block.registry().collisionShape().intersectBox(position.sub(blockPos).add(blockEntityVector), boundingBox)) {
-                            handler.onTouch(new BlockHandler.Touch(block, instance, new Vec(x, y, z), this));
+        final int minChunkX = ChunkUtils.getChunkCoordinate(minX), maxChunkX = ChunkUtils.getChunkCoordinate(maxX);
+        final int minChunkZ = ChunkUtils.getChunkCoordinate(minZ), maxChunkZ = ChunkUtils.getChunkCoordinate(maxZ);
+        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
+            final Chunk chunk = instance.getChunk(minChunkX, minChunkZ);
+            if (chunk == null) return;
+            final int version = chunk.getTouchableVersion();
+            if (!touchChunk(chunk, position, boundingBox, minX, minY, minZ, maxX, maxY, maxZ) &&
+                    version != Integer.MIN_VALUE) {
+                this.untouchedChunk = chunk;
+                this.untouchedVersion = version;
+                this.untouchedPosition = position;
+                this.untouchedBoundingBox = boundingBox;
+            }
+            return;
+        }
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final Chunk chunk = instance.getChunk(chunkX, chunkZ);
+                if (chunk != null) touchChunk(chunk, position, boundingBox, minX, minY, minZ, maxX, maxY, maxZ);
+            }
+        }
+    }
+
+    /**
+     * Calls {@link BlockHandler#onTouch(BlockHandler.Touch)} for the touchable blocks of a chunk in contact with this entity.
+     *
+     * @return true if a block has been touched
+     */
+    private boolean touchChunk(Chunk chunk, Pos position, BoundingBox boundingBox,
+                               int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        final int offsetX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+        final int offsetZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+        final int fromX = Math.max(minX, offsetX), toX = Math.min(maxX, offsetX + Chunk.CHUNK_SIZE_X - 1);
+        final int fromZ = Math.max(minZ, offsetZ), toZ = Math.min(maxZ, offsetZ + Chunk.CHUNK_SIZE_Z - 1);
+        // Candidates are collected under the chunk lock, handlers are called without it
+        List<Block> blocks = null;
+        List<Vec> blockPositions = null;
+        synchronized (chunk) {
+            final Int2ObjectMap<Block> touchable = chunk.getTouchableEntries();
+            if (touchable.isEmpty()) return false;
+            final int volume = (toX - fromX + 1) * (maxY - minY + 1) * (toZ - fromZ + 1);
+            if (touchable.size() <= volume) {
+                for (Int2ObjectMap.Entry<Block> entry : touchable.int2ObjectEntrySet()) {
+                    final int index = entry.getIntKey();
+                    final int x = offsetX + ChunkUtils.blockIndexToChunkPositionX(index);
+                    final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+                    final int z = offsetZ + ChunkUtils.blockIndexToChunkPositionZ(index);
+                    if (x < fromX || x > toX || y < minY || y > maxY || z < fromZ || z > toZ) continue;
+                    if (blocks == null) {
+                        blocks = new ArrayList<>();
+                        blockPositions = new ArrayList<>();
+                    }
+                    blocks.add(entry.getValue());
+                    blockPositions.add(new Vec(x, y, z));
+                }
+            } else {
+                for (int y = minY; y <= maxY; y++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        for (int z = fromZ; z <= toZ; z++) {
+                            final Block block = touchable.get(ChunkUtils.getBlockIndex(x, y, z));
+                            if (block == null) continue;
+                            if (blocks == null) {
+                                blocks = new ArrayList<>();
+                                blockPositions = new ArrayList<>();
+                            }
+                            blocks.add(block);
+                            blockPositions.add(new Vec(x, y, z));
                         }
                     }
                 }
             }
         }
+        if (blocks == null) return false;
+        boolean touched = false;
+        for (int i = 0; i < blocks.size(); i++) {
+            final Block block = blocks.get(i);
+            final BlockHandler handler = block.handler();
+            if (handler == null) continue;
+            // Move a small amount towards the entity. If the entity is within 0.01 blocks of the block, touch will trigger
+            final Vec blockPos = blockPositions.get(i);
+            final Point blockEntityVector = (blockPos.sub(position)).normalize().mul(0.01);
+            if (block.registry().collisionShape().intersectBox(position.sub(blockPos).add(blockEntityVector), boundingBox)) {
+                handler.onTouch(new BlockHandler.Touch(block, instance, blockPos, this));
+                touched = true;
+            }
+        }
+        return touched;
     }
 
     private void effectTick(long time) {
@@ -898,6 +1045,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
                     player.sendPacket(instance.createTimePacket());
                 }
                 instance.getEntityTracker().register(this, spawnPosition, trackingTarget, trackingUpdate);
+                instance.entityCollision().update(this);
                 spawn();
                 EventDispatcher.call(new EntitySpawnEvent(this, instance));
             } catch (Exception e) {
@@ -926,6 +1074,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     private void removeFromInstance(Instance instance) {
         EventDispatcher.call(new RemoveEntityFromInstanceEvent(instance, this));
         instance.getEntityTracker().unregister(this, trackingTarget, trackingUpdate);
+        instance.entityCollision().remove(this);
         this.viewEngine.forEachThenClear(player -> {
             updateOldViewer(player);
         });
@@ -970,6 +1119,63 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         }
     }
 
+    /**
+     * Adds an horizontal velocity to the entity, used when pushed by another entity.
+     * <p>
+     * Unlike {@link #setVelocity(Vec)}, no event is called and viewers only receive the velocity
+     * with the next periodic update.
+     *
+     * @param x the velocity to add on the X axis, in blocks/tick
+     * @param z the velocity to add on the Z axis, in blocks/tick
+     */
+    public void push(double x, double z) {
+        final double tps = MinecraftServer.TICK_PER_SECOND;
+        this.velocity = velocity.add(x * tps, 0, z * tps);
+    }
+
+    /**
+     * Gets the collision groups of this entity.
+     *
+     * @return the groups bit set, 0 if the entity does not collide with other entities
+     * @see #setCollisionGroups(int)
+     */
+    public int getCollisionGroups() {
+        return collisionGroups;
+    }
+
+    /**
+     * Changes the collision groups of this entity.
+     * <p>
+     * Entities in at least one group are pushed by each other when their bounding boxes overlap,
+     * as long as the groups of each entity are part of the {@link #getCollisionMask() mask} of the other.
+     *
+     * @param collisionGroups the groups bit set, 0 to disable entity collisions (default)
+     */
+    public void setCollisionGroups(int collisionGroups) {
+        this.collisionGroups = collisionGroups;
+        final Instance instance = this.instance;
+        if (instance != null) instance.entityCollision().update(this);
+    }
+
+    /**
+     * Gets the groups this entity collides with.
+     *
+     * @return the mask bit set, every group by default
+     */
+    public int getCollisionMask() {
+        return collisionMask;
+    }
+
+    /**
+     * Changes the groups this entity collides with.
+     *
+     * @param collisionMask the mask bit set
+     * @see #setCollisionGroups(int)
+     */
+    public void setCollisionMask(int collisionMask) {
+        this.collisionMask = collisionMask;
+    }
+
     public void setHasPhysics(boolean hasPhysics) {
         this.hasPhysics = hasPhysics;
     }
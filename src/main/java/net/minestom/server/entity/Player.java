@@ -30,6 +30,7 @@ import net.minestom.server.entity.fakeplayer.FakePlayer;
 import net.minestom.server.entity.metadata.PlayerMeta;
 import net.minestom.server.entity.vehicle.PlayerVehicleInformation;
 import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.inventory.InventoryOpenEvent;
 import net.minestom.server.event.item.ItemDropEvent;
 import net.minestom.server.event.item.ItemUpdateStateEvent;
@@ -38,6 +39,7 @@ import net.minestom.server.event.player.*;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.inventory.Inventory;
 import net.minestom.server.inventory.PlayerInventory;
 import net.minestom.server.item.ItemStack;
@@ -159,6 +161,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     private int receivedTeleportId;
 
     private final MessagePassingQueue<ClientPacket> packets = new MpscUnboundedXaddArrayQueue<>(32);
+    private final ListenerHandle<PlayerTickEvent> tickHandle = EventDispatcher.getHandle(PlayerTickEvent.class);
     private final boolean levelFlat;
     private final PlayerSettings settings;
     private float exp;
@@ -417,7 +420,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         }
 
         // Tick event
-        EventDispatcher.call(new PlayerTickEvent(this));
+        EventDispatcher.callIfListened(tickHandle, () -> new PlayerTickEvent(this));
     }
 
     @Override
@@ -2201,6 +2204,10 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
             sendPacket(new UpdateViewPositionPacket(newX, newZ));
             ChunkUtils.forDifferingChunksInRange(newX, newZ, (int) old.x(), (int) old.z(),
                     MinecraftServer.getChunkViewDistance(), chunkAdder, chunkRemover);
+            if (instance instanceof InstanceContainer container) {
+                container.getChunkLoader().readAhead(instance, newX, newZ,
+                        Integer.signum(newX - (int) old.x()), Integer.signum(newZ - (int) old.z()));
+            }
             this.chunksLoadedByClient = new Vec(newX, newZ);
         }
     }
@@ -3,6 +3,9 @@ package net.minestom.server.event;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.event.trait.CancellableEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
 
 public final class EventDispatcher {
 
@@ -14,6 +17,35 @@ public final class EventDispatcher {
         return MinecraftServer.getGlobalEventHandler().getHandle(handleType);
     }
 
+    /**
+     * Creates and calls an event only if it has listeners, avoiding its allocation otherwise.
+     *
+     * @param handleType    the exact event type
+     * @param eventSupplier the supplier creating the event
+     * @param <E>           the event type
+     * @return the called event, null if there was no listener
+     */
+    public static <E extends Event> @Nullable E callIfListened(@NotNull Class<E> handleType,
+                                                               @NotNull Supplier<? extends E> eventSupplier) {
+        return callIfListened(getHandle(handleType), eventSupplier);
+    }
+
+    /**
+     * Creates and calls an event only if the handle has listeners, avoiding its allocation otherwise.
+     *
+     * @param handle        the handle of the exact event type, can be cached
+     * @param eventSupplier the supplier creating the event
+     * @param <E>           the event type
+     * @return the called event, null if there was no listener
+     */
+    public static <E extends Event> @Nullable E callIfListened(@NotNull ListenerHandle<E> handle,
+                                                               @NotNull Supplier<? extends E> eventSupplier) {
+        if (!handle.hasListener()) return null;
+        final E event = eventSupplier.get();
+        handle.call(event);
+        return event;
+    }
+
     public static void callCancellable(@NotNull CancellableEvent event, @NotNull Runnable successCallback) {
         MinecraftServer.getGlobalEventHandler().callCancellable(event, successCallback);
     }
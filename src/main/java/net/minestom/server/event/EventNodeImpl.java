@@ -3,6 +3,7 @@ package net.minestom.server.event;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.event.trait.RecursiveEvent;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -13,12 +14,18 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
 non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     static final Object GLOBAL_CHILD_LOCK = new Object();
+    /**
+     * Whether handles run their whole subtree as a flat list of listeners and filters,
+     * instead of one consumer per node. Read when a handle is created.
+     */
+    static boolean compiledDispatch = PropertyUtils.getBoolean("minestom.event.compiled-dispatch", false);
 
     private final Map<Class, Handle<T>> handleMap = new ConcurrentHashMap<>();
     final Map<Class<? extends T>, ListenerEntry<T>> listenerMap = new ConcurrentHashMap<>();
@@ -309,8 +316,10 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     @SuppressWarnings("unchecked")
     final class Handle<E extends Event> implements ListenerHandle<E> {
         private final Class<E> eventType;
-        private Consumer<E> listener = null;
-        private volatile boolean updated;
+        private final boolean compiled = compiledDispatch;
+        // Incremented on invalidation, the state is outdated if built for a previous version
+        private final AtomicInteger version = new AtomicInteger();
+        private volatile State<E> state;
 
         Handle(Class<E> eventType) {
             this.eventType = eventType;
@@ -318,7 +327,7 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
         @Override
         public void call(@NotNull E event) {
-            final Consumer<E> listener = updatedListener();
+            final Consumer<E> listener = updatedState().listener();
             if (listener == null) return;
             try {
                 listener.accept(event);
@@ -329,48 +338,61 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
         @Override
         public boolean hasListener() {
-            return updatedListener() != null;
+            return updatedState().listener() != null;
         }
 
         void invalidate() {
-            synchronized (GLOBAL_CHILD_LOCK) {
-                this.updated = false;
-                this.listener = null;
-            }
+            this.version.incrementAndGet();
         }
 
         @Nullable Consumer<E> updatedListener() {
-            if (updated) return listener;
-            synchronized (GLOBAL_CHILD_LOCK) {
-                if (updated) return listener;
-                final Consumer<E> listener = createConsumer();
-                this.listener = listener;
-                this.updated = true;
-                return listener;
-            }
+            return updatedState().listener();
         }
 
-        private @Nullable Consumer<E> createConsumer() {
+        private State<E> updatedState() {
+            State<E> state = this.state;
+            final int version = this.version.get();
+            if (state != null && state.version() == version) return state;
+            // Built without lock, any concurrent change invalidates the handle again once applied
+            state = createState(version);
+            this.state = state;
+            return state;
+        }
+
+        private State<E> createState(int version) {
             var node = (EventNodeImpl<E>) EventNodeImpl.this;
             // Standalone listeners
             List<Consumer<E>> listeners = new ArrayList<>();
+            // Flattened subtree, only for compiled handles
+            final List<Object> steps = compiled ? new ArrayList<>() : null;
             forTargetEvents(eventType, type -> {
                 final ListenerEntry<E> entry = node.listenerMap.get(type);
                 if (entry != null) {
-                    final Consumer<E> result = listenersConsumer(entry);
+                    final Consumer<E> result = listenersConsumer(entry, steps);
                     if (result != null) listeners.add(result);
                 }
             });
             final Consumer<E>[] listenersArray = listeners.toArray(Consumer[]::new);
             // Mapped
             final Consumer<E> mappedListener = mappedConsumer();
+            if (steps != null && mappedListener != null) steps.add(mappedListener);
             // Children
-            final Consumer<E>[] childrenListeners = node.children.stream()
+            final List<State<E>> childrenStates = node.children.stream()
                     .filter(child -> child.eventType.isAssignableFrom(eventType)) // Invalid event type
                     .sorted(Comparator.comparing(EventNode::getPriority))
-                    .map(child -> ((Handle<E>) child.getHandle(eventType)).updatedListener())
-                    .filter(Objects::nonNull)
-                    .toArray(Consumer[]::new);
+                    .map(child -> ((Handle<E>) child.getHandle(eventType)).updatedState())
+                    .filter(childState -> childState.listener() != null)
+                    .toList();
+            final Consumer<E>[] childrenListeners = childrenStates.stream()
+                    .map(State::listener).toArray(Consumer[]::new);
+            if (steps != null) {
+                for (State<E> childState : childrenStates) {
+                    final Object[] childSteps = childState.steps();
+                    // Child handle created in the default mode
+                    if (childSteps != null) steps.addAll(Arrays.asList(childSteps));
+                    else steps.add(childState.listener());
+                }
+            }
             // Empty check
             final BiPredicate<E, Object> predicate = node.predicate;
             final EventFilter<E, ?> filter = node.filter;
@@ -380,9 +402,14 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
             final boolean hasChildren = childrenListeners.length > 0;
             if (!hasListeners && !hasMap && !hasChildren) {
                 // No listener
-                return null;
+                return new State<>(version, null, null);
             }
-            return e -> {
+            if (steps != null) {
+                if (hasPredicate) steps.add(0, new Guard<>(filter, predicate, steps.size()));
+                final Object[] stepsArray = steps.toArray();
+                return new State<>(version, compile(stepsArray), stepsArray);
+            }
+            final Consumer<E> consumer = e -> {
                 // Filtering
                 if (hasPredicate) {
                     final Object value = filter.getHandler(e);
@@ -403,20 +430,27 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
                     }
                 }
             };
+            return new State<>(version, consumer, null);
         }
 
         /**
          * Create a consumer calling all listeners from {@link EventNode#addListener(EventListener)} and
-         * {@link EventNode#register(EventBinding)}.
+         * {@link EventNode#register(EventBinding)}, and append them individually to {@code steps} if not null.
          * <p>
          * Most computation should ideally be done outside the consumers as a one-time cost.
          */
-        private @Nullable Consumer<E> listenersConsumer(@NotNull ListenerEntry<E> entry) {
+        private @Nullable Consumer<E> listenersConsumer(@NotNull ListenerEntry<E> entry, @Nullable List<Object> steps) {
             final EventListener<E>[] listenersCopy = entry.listeners.toArray(EventListener[]::new);
             final Consumer<E>[] bindingsCopy = entry.bindingConsumers.toArray(Consumer[]::new);
             final boolean listenersEmpty = listenersCopy.length == 0;
             final boolean bindingsEmpty = bindingsCopy.length == 0;
             if (listenersEmpty && bindingsEmpty) return null;
+            if (steps != null) {
+                for (EventListener<E> listener : listenersCopy) {
+                    steps.add((Consumer<E>) e -> callListener(listener, e));
+                }
+                steps.addAll(Arrays.asList(bindingsCopy));
+            }
             if (bindingsEmpty && listenersCopy.length == 1) {
                 // Only one normal listener
                 final EventListener<E> listener = listenersCopy[0];
@@ -495,4 +529,44 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
             }
         }
     }
+
+    /**
+     * Listener of a handle, with its flattened subtree.
+     *
+     * @param version  the handle version when built
+     * @param listener the listener to run, null if there is none
+     * @param steps    the listeners and {@link Guard guards} of the subtree in call order,
+     *                 null if there is none or if the handle is not compiled
+     */
+    private record State<E extends Event>(int version, @Nullable Consumer<E> listener, @Nullable Object[] steps) {
+    }
+
+    /**
+     * Node filter, skipping the {@code skip} next steps (the node subtree) if the event does not match.
+     */
+    private record Guard<E extends Event>(EventFilter<E, ?> filter, BiPredicate<E, Object> predicate, int skip) {
+        boolean test(E event) {
+            return predicate.test(event, filter.getHandler(event));
+        }
+    }
+
+    /**
+     * Creates a listener running flattened steps in a single loop,
+     * avoiding the nested consumer per node of the default mode.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Event> Consumer<E> compile(Object[] steps) {
+        if (steps.length == 1 && !(steps[0] instanceof Guard)) return (Consumer<E>) steps[0];
+        return event -> {
+            int i = 0;
+            while (i < steps.length) {
+                final Object step = steps[i++];
+                if (step instanceof Guard guard) {
+                    if (!guard.test(event)) i += guard.skip();
+                } else {
+                    ((Consumer<E>) step).accept(event);
+                }
+            }
+        };
+    }
 }
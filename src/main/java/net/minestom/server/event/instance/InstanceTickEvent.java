@@ -7,6 +7,8 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Called when an instance processes a tick.
+ * <p>
+ * May be called concurrently for different instances, see {@link Instance#tick(long)}.
  */
 public class InstanceTickEvent implements InstanceEvent {
 
@@ -1,7 +1,9 @@
 package net.minestom.server.instance;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntIntImmutablePair;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
@@ -11,6 +13,7 @@ import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
 import net.minestom.server.utils.chunk.ChunkSupplier;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import net.minestom.server.world.biomes.BiomeManager;
 import org.jetbrains.annotations.NotNull;
@@ -32,16 +35,37 @@ import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
 import java.util.function.ToIntFunction;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final NamespaceID BIOME_ID = NamespaceID.from("minecraft:plains");
 
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
+    private static final int THREAD_COUNT = Integer.getInteger("minestom.anvil-io-threads", 4);
+    private static final int MAX_OPEN_REGIONS = Integer.getInteger("minestom.anvil-max-open-regions", 64);
+    private static final int READ_AHEAD = Integer.getInteger("minestom.anvil-read-ahead", 2);
+
+    // Open region files, in access order, guarded by itself
+    private final Map<String, Region> alreadyLoaded = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, RegionQueue> regionQueues = new ConcurrentHashMap<>();
+    // Chunk data read ahead of player movements
+    private final Cache<Long, CompletableFuture<NBTCompound>> readAheadCache = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .expireAfterWrite(Duration.ofSeconds(30))
+            .build();
+
+    // Metrics
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder readCount = new LongAdder();
+    private final LongAdder readLatency = new LongAdder();
+    private final LongAdder readAheadRequests = new LongAdder();
+    private final LongAdder readAheadHits = new LongAdder();
     private final Path path;
     private final Path levelPath;
     private final Path regionPath;
@@ -55,7 +79,7 @@ public class AnvilLoader implements IChunkLoader {
     private final RegionCache perRegionLoadedChunks = new RegionCache();
 
     // thread local to avoid contention issues with locks
-    private final ThreadLocal<Int2ObjectMap<BlockState>> blockStateId2ObjectCacheTLS = ThreadLocal.withInitial(Int2ObjectArrayMap::new);
+    private final ThreadLocal<Int2ObjectMap<BlockState>> blockStateId2ObjectCacheTLS = ThreadLocal.withInitial(Int2ObjectOpenHashMap::new);
 
     private ChunkSupplier chunkSupplier;
 
@@ -91,21 +115,88 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
-        try {
-            return loadMCA(instance, chunkX, chunkZ);
-        } catch (Exception e) {
-            MinecraftServer.getExceptionManager().handleException(e);
+        if (!supportsParallelLoading()) {
+            try {
+                return CompletableFuture.completedFuture(loadMCA(instance, chunkX, chunkZ,
+                        withRegion(instance, chunkX, chunkZ, false, file -> file.getChunkData(chunkX, chunkZ))));
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<NBTCompound> chunkData = readAheadCache.asMap().remove(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        if (chunkData != null) {
+            this.readAheadHits.increment();
+        } else {
+            chunkData = readChunkData(instance, chunkX, chunkZ);
         }
-        return CompletableFuture.completedFuture(null);
+        final CompletableFuture<Chunk> chunkFuture = chunkData.thenApplyAsync(data -> {
+            try {
+                return loadMCA(instance, chunkX, chunkZ, data);
+            } catch (AnvilException e) {
+                throw new CompletionException(e);
+            }
+        }, Pool.EXECUTOR);
+        return chunkFuture.exceptionally(throwable -> {
+            MinecraftServer.getExceptionManager().handleException(throwable);
+            return null;
+        });
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final NBTCompound chunkData = mcaFile.getChunkData(chunkX, chunkZ);
+    /**
+     * Reads the chunks a player is moving towards, as long as their region file is already open.
+     */
+    @Override
+    public void readAhead(@NotNull Instance instance, int chunkX, int chunkZ, int directionX, int directionZ) {
+        if (READ_AHEAD <= 0 || !supportsParallelLoading() || !Files.exists(path)) return;
+        final int viewDistance = MinecraftServer.getChunkViewDistance();
+        for (int distance = viewDistance + 1; distance <= viewDistance + READ_AHEAD; distance++) {
+            for (int offset = -viewDistance; offset <= viewDistance; offset++) {
+                if (directionX != 0) readAhead(instance, chunkX + directionX * distance, chunkZ + offset);
+                if (directionZ != 0) readAhead(instance, chunkX + offset, chunkZ + directionZ * distance);
+            }
+        }
+    }
+
+    private void readAhead(Instance instance, int chunkX, int chunkZ) {
+        if (instance.getChunk(chunkX, chunkZ) != null) return;
+        final String regionName = regionName(chunkX, chunkZ);
+        synchronized (alreadyLoaded) {
+            if (!alreadyLoaded.containsKey(regionName)) return;
+        }
+        this.readAheadCache.asMap().computeIfAbsent(ChunkUtils.getChunkIndex(chunkX, chunkZ), index -> {
+            this.readAheadRequests.increment();
+            return readChunkData(instance, chunkX, chunkZ);
+        });
+    }
+
+    private CompletableFuture<NBTCompound> readChunkData(Instance instance, int chunkX, int chunkZ) {
+        CompletableFuture<NBTCompound> future = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        this.queueDepth.incrementAndGet();
+        regionQueues.computeIfAbsent(regionName(chunkX, chunkZ), name -> new RegionQueue()).execute(() -> {
+            this.queueDepth.decrementAndGet();
+            NBTCompound chunkData = null;
+            Throwable exception = null;
+            try {
+                chunkData = withRegion(instance, chunkX, chunkZ, false, file -> file.getChunkData(chunkX, chunkZ));
+            } catch (Throwable e) {
+                exception = e;
+            }
+            this.readCount.increment();
+            this.readLatency.add(System.nanoTime() - start);
+            if (exception != null) {
+                future.completeExceptionally(exception);
+            } else {
+                future.complete(chunkData);
+            }
+        });
+        return future;
+    }
+
+    private @Nullable Chunk loadMCA(Instance instance, int chunkX, int chunkZ, @Nullable NBTCompound chunkData) throws AnvilException {
         if (chunkData == null)
-            return CompletableFuture.completedFuture(null);
+            return null;
 
         final ChunkReader chunkReader = new ChunkReader(chunkData);
 
@@ -142,28 +233,88 @@ public class AnvilLoader implements IChunkLoader {
             var chunks = perRegionLoadedChunks.computeIfAbsent(new IntIntImmutablePair(regionX, regionZ), r -> new HashSet<>()); // region cache may have been removed on another thread due to unloadChunk
             chunks.add(new IntIntImmutablePair(chunkX, chunkZ));
         }
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
+    }
+
+    /**
+     * Runs an action on the region file containing a chunk, serialized with the other accesses to the file.
+     *
+     * @return the action result, null if the region file does not exist and {@code create} is false
+     */
+    private <T> @Nullable T withRegion(Instance instance, int chunkX, int chunkZ, boolean create,
+                                       RegionAction<T> action) throws IOException, AnvilException {
+        while (true) {
+            final Region region = getRegion(instance, chunkX, chunkZ, create);
+            if (region == null) return null;
+            synchronized (region) {
+                // Retry if the file has been evicted in the meantime
+                if (!region.closed) return action.apply(region.file);
+            }
+        }
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
+    private @Nullable Region getRegion(Instance instance, int chunkX, int chunkZ, boolean create) throws IOException, AnvilException {
         final int regionX = CoordinatesKt.chunkToRegion(chunkX);
         final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                synchronized (perRegionLoadedChunks) {
-                    Set<IntIntImmutablePair> previousVersion = perRegionLoadedChunks.put(new IntIntImmutablePair(regionX, regionZ), new HashSet<>());
-                    assert previousVersion == null : "The AnvilLoader cache should not already have data for this region.";
+        final String name = RegionFile.Companion.createFileName(regionX, regionZ);
+        final Region region;
+        final List<Region> evicted;
+        synchronized (alreadyLoaded) {
+            Region current = alreadyLoaded.get(name);
+            if (current != null) return current;
+            final File regionFile = regionPath.resolve(name).toFile();
+            if (!regionFile.exists()) {
+                if (!create) return null;
+                if (!regionFile.getParentFile().exists()) {
+                    regionFile.getParentFile().mkdirs();
                 }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+                regionFile.createNewFile();
             }
-        });
+            region = new Region(new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ,
+                    instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1));
+            alreadyLoaded.put(name, region);
+            evicted = evictRegions();
+        }
+        for (Region evictedRegion : evicted) evictedRegion.close();
+        return region;
+    }
+
+    /**
+     * Removes the least recently used region files without pending reads once the limit is exceeded.
+     * Must be called with the {@link #alreadyLoaded} lock held.
+     *
+     * @return the regions to close
+     */
+    private List<Region> evictRegions() {
+        if (alreadyLoaded.size() <= MAX_OPEN_REGIONS) return List.of();
+        List<Region> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Region>> iterator = alreadyLoaded.entrySet().iterator();
+        while (alreadyLoaded.size() > MAX_OPEN_REGIONS && iterator.hasNext()) {
+            final Map.Entry<String, Region> entry = iterator.next();
+            final RegionQueue queue = regionQueues.get(entry.getKey());
+            if (queue != null && !queue.isIdle()) continue;
+            iterator.remove();
+            evicted.add(entry.getValue());
+        }
+        return evicted;
+    }
+
+    private static String regionName(int chunkX, int chunkZ) {
+        return RegionFile.Companion.createFileName(CoordinatesKt.chunkToRegion(chunkX), CoordinatesKt.chunkToRegion(chunkZ));
+    }
+
+    /**
+     * Gets the I/O metrics of this loader.
+     *
+     * @return the current metrics
+     */
+    public @NotNull Metrics metrics() {
+        final int openRegions;
+        synchronized (alreadyLoaded) {
+            openRegions = alreadyLoaded.size();
+        }
+        return new Metrics(queueDepth.get(), openRegions, readCount.sum(), readLatency.sum(),
+                readAheadRequests.sum(), readAheadHits.sum());
     }
 
     private void loadSections(Chunk chunk, ChunkReader chunkReader) {
@@ -339,36 +490,24 @@ public class AnvilLoader implements IChunkLoader {
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
-                try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
-                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-                    MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
-                }
-            }
-        }
         ChunkWriter writer = new ChunkWriter(SupportedVersion.Companion.getLatest());
         save(chunk, writer);
+        NBTCompound columnNBT = writer.toNBT();
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            MutableNBTCompound mutableColumn = columnNBT.toMutableCompound();
+            mutableColumn.set("Heightmaps", dynamicChunk.heightmapsNBT());
+            columnNBT = mutableColumn.toCompound();
+        }
+        final NBTCompound finalColumnNBT = columnNBT;
         try {
             LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumnData(writer.toNBT(), chunk.getChunkX(), chunk.getChunkZ());
-        } catch (IOException e) {
+            withRegion(chunk.instance, chunkX, chunkZ, true, file -> {
+                file.writeColumnData(finalColumnNBT, chunkX, chunkZ);
+                // Data read in advance is now outdated, reads started after this point see the new data
+                this.readAheadCache.invalidate(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+                return null;
+            });
+        } catch (IOException | AnvilException e) {
             LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
             return AsyncUtils.VOID_FUTURE;
@@ -382,65 +521,51 @@ public class AnvilLoader implements IChunkLoader {
 
     private void save(Chunk chunk, ChunkWriter chunkWriter) {
         final int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
-        final int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE - 1;
         chunkWriter.setYPos(minY);
-        List<NBTCompound> blockEntities = new ArrayList<>();
         chunkWriter.setStatus(ChunkColumn.GenerationStatus.Full);
 
-        List<NBTCompound> sectionData = new ArrayList<>((maxY - minY + 1) / Chunk.CHUNK_SECTION_SIZE);
+        // Palettes are copy-on-write, the lock is only held while taking the snapshot
+        final Section[] sections;
+        final Int2ObjectMap<Block> entries;
+        synchronized (chunk) {
+            sections = chunk.sectionCopy();
+            entries = new Int2ObjectOpenHashMap<>(chunk.getEntries());
+        }
+
+        List<NBTCompound> sectionData = new ArrayList<>(sections.length);
         int[] palettedBiomes = new int[ChunkSection.Companion.getBiomeArraySize()];
         int[] palettedBlockStates = new int[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SIZE_Z];
-        for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
+        for (int i = 0; i < sections.length; i++) {
+            final int sectionY = chunk.getMinSection() + i;
             ChunkSectionWriter sectionWriter = new ChunkSectionWriter(SupportedVersion.Companion.getLatest(), (byte) sectionY);
 
-            Section section = chunk.getSection(sectionY);
+            Section section = sections[i];
             sectionWriter.setSkyLights(section.getSkyLight());
             sectionWriter.setBlockLights(section.getBlockLight());
 
-            BiomePalette biomePalette = new BiomePalette();
+            // Both palettes use the anvil index order (x, then z, then y), values are translated once per palette entry
             BlockPalette blockPalette = new BlockPalette();
-            for (int sectionLocalY = 0; sectionLocalY < Chunk.CHUNK_SECTION_SIZE; sectionLocalY++) {
-                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                    for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                        final int y = sectionLocalY + sectionY * Chunk.CHUNK_SECTION_SIZE;
-
-                        final int blockIndex = x + sectionLocalY * 16 * 16 + z * 16;
-
-                        final Block block = chunk.getBlock(x, y, z);
-
-                        final BlockState hephaistosBlockState = getBlockState(block);
-                        blockPalette.increaseReference(hephaistosBlockState);
-
-                        palettedBlockStates[blockIndex] = blockPalette.getPaletteIndex(hephaistosBlockState);
-
-                        // biome are stored for 4x4x4 volumes, avoid unnecessary work
-                        if (x % 4 == 0 && sectionLocalY % 4 == 0 && z % 4 == 0) {
-                            int biomeIndex = (x / 4) + (sectionLocalY / 4) * 4 * 4 + (z / 4) * 4;
-                            final Biome biome = chunk.getBiome(x, y, z);
-                            final String biomeName = biome.name().asString();
-
-                            biomePalette.increaseReference(biomeName);
-                            palettedBiomes[biomeIndex] = biomePalette.getPaletteIndex(biomeName);
-                        }
-
-                        // Block entities
-                        final BlockHandler handler = block.handler();
-                        final NBTCompound originalNBT = block.nbt();
-                        if (originalNBT != null || handler != null) {
-                            MutableNBTCompound nbt = originalNBT != null ?
-                                    originalNBT.toMutableCompound() : new MutableNBTCompound();
+            final int[] blockStates = section.blockPalette().getAllIndexes(palettedBlockStates);
+            final int[] blockRemap = remap(palettedBlockStates, blockStates.length, index -> {
+                final Block block = Objects.requireNonNullElse(Block.fromStateId((short) blockStates[index]), Block.AIR);
+                final BlockState state = getBlockState(block);
+                blockPalette.increaseReference(state);
+                return blockPalette.getPaletteIndex(state);
+            });
+            for (int j = 0; j < palettedBlockStates.length; j++) {
+                palettedBlockStates[j] = blockRemap[palettedBlockStates[j]];
+            }
 
-                            if (handler != null) {
-                                nbt.setString("id", handler.getNamespaceId().asString());
-                            }
-                            nbt.setInt("x", x + Chunk.CHUNK_SIZE_X * chunk.getChunkX());
-                            nbt.setInt("y", y);
-                            nbt.setInt("z", z + Chunk.CHUNK_SIZE_Z * chunk.getChunkZ());
-                            nbt.setByte("keepPacked", (byte) 0);
-                            blockEntities.add(nbt.toCompound());
-                        }
-                    }
-                }
+            BiomePalette biomePalette = new BiomePalette();
+            final int[] biomes = section.biomePalette().getAllIndexes(palettedBiomes);
+            final int[] biomeRemap = remap(palettedBiomes, biomes.length, index -> {
+                final Biome biome = MinecraftServer.getBiomeManager().getById(biomes[index]);
+                final String biomeName = (biome != null ? biome : Biome.PLAINS).name().asString();
+                biomePalette.increaseReference(biomeName);
+                return biomePalette.getPaletteIndex(biomeName);
+            });
+            for (int j = 0; j < palettedBiomes.length; j++) {
+                palettedBiomes[j] = biomeRemap[palettedBiomes[j]];
             }
 
             sectionWriter.setPalettedBiomes(biomePalette, palettedBiomes);
@@ -449,10 +574,48 @@ public class AnvilLoader implements IChunkLoader {
             sectionData.add(sectionWriter.toNBT());
         }
 
+        // Block entities
+        List<NBTCompound> blockEntities = new ArrayList<>();
+        for (Int2ObjectMap.Entry<Block> entry : entries.int2ObjectEntrySet()) {
+            final Block block = entry.getValue();
+            final BlockHandler handler = block.handler();
+            final NBTCompound originalNBT = block.nbt();
+            if (originalNBT == null && handler == null) continue;
+            MutableNBTCompound nbt = originalNBT != null ?
+                    originalNBT.toMutableCompound() : new MutableNBTCompound();
+            if (handler != null) {
+                nbt.setString("id", handler.getNamespaceId().asString());
+            }
+            final int index = entry.getIntKey();
+            nbt.setInt("x", ChunkUtils.blockIndexToChunkPositionX(index) + Chunk.CHUNK_SIZE_X * chunk.getChunkX());
+            nbt.setInt("y", ChunkUtils.blockIndexToChunkPositionY(index));
+            nbt.setInt("z", ChunkUtils.blockIndexToChunkPositionZ(index) + Chunk.CHUNK_SIZE_Z * chunk.getChunkZ());
+            nbt.setByte("keepPacked", (byte) 0);
+            blockEntities.add(nbt.toCompound());
+        }
+
         chunkWriter.setSectionsData(NBT.List(NBTType.TAG_Compound, sectionData));
         chunkWriter.setBlockEntityData(NBT.List(NBTType.TAG_Compound, blockEntities));
     }
 
+    /**
+     * Translates the used indexes of a palette, unused ones are not added to the anvil palette.
+     *
+     * @param indexes    the palette index of each entry
+     * @param size       the palette size
+     * @param translator function translating a used palette index to its anvil palette index
+     * @return the anvil palette index of each palette index
+     */
+    private static int[] remap(int[] indexes, int size, IntUnaryOperator translator) {
+        final boolean[] used = new boolean[size];
+        for (int index : indexes) used[index] = true;
+        final int[] remap = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (used[i]) remap[i] = translator.applyAsInt(i);
+        }
+        return remap;
+    }
+
     /**
      * Unload a given chunk. Also unloads a region when no chunk from that region is loaded.
      *
@@ -466,23 +629,17 @@ public class AnvilLoader implements IChunkLoader {
         final IntIntImmutablePair regionKey = new IntIntImmutablePair(regionX, regionZ);
         synchronized (perRegionLoadedChunks) {
             Set<IntIntImmutablePair> chunks = perRegionLoadedChunks.get(regionKey);
-            if (chunks != null) { // if null, trying to unload a chunk from a region that was not created by the AnvilLoader
-                // don't check return value, trying to unload a chunk not created by the AnvilLoader is valid
-                chunks.remove(new IntIntImmutablePair(chunk.chunkX, chunk.chunkZ));
-
-                if (chunks.isEmpty()) {
-                    perRegionLoadedChunks.remove(regionKey);
-                    RegionFile regionFile = alreadyLoaded.remove(RegionFile.Companion.createFileName(regionX, regionZ));
-                    if (regionFile != null) {
-                        try {
-                            regionFile.close();
-                        } catch (IOException e) {
-                            MinecraftServer.getExceptionManager().handleException(e);
-                        }
-                    }
-                }
-            }
+            if (chunks == null) return; // trying to unload a chunk from a region that was not created by the AnvilLoader
+            // don't check return value, trying to unload a chunk not created by the AnvilLoader is valid
+            chunks.remove(new IntIntImmutablePair(chunk.chunkX, chunk.chunkZ));
+            if (!chunks.isEmpty()) return;
+            perRegionLoadedChunks.remove(regionKey);
         }
+        final Region region;
+        synchronized (alreadyLoaded) {
+            region = alreadyLoaded.remove(RegionFile.Companion.createFileName(regionX, regionZ));
+        }
+        if (region != null) region.close();
     }
 
     @Override
@@ -495,6 +652,14 @@ public class AnvilLoader implements IChunkLoader {
         return true;
     }
 
+    /**
+     * Chunks are already read and parsed on the anvil I/O pool.
+     */
+    @Override
+    public @NotNull Executor loadingExecutor() {
+        return Runnable::run;
+    }
+
     public @NotNull ChunkSupplier getChunkSupplier() {
         return chunkSupplier;
     }
@@ -502,4 +667,99 @@ public class AnvilLoader implements IChunkLoader {
     public void setChunkSupplier(@NotNull ChunkSupplier chunkSupplier) {
         this.chunkSupplier = Objects.requireNonNull(chunkSupplier, "chunkSupplier");
     }
+
+    /**
+     * Anvil I/O statistics.
+     *
+     * @param queueDepth         the number of chunk reads waiting for their region file
+     * @param openRegions        the number of open region files
+     * @param reads              the number of asynchronous chunk reads
+     * @param readLatencyNanos   the total time between the submission and the completion of the reads
+     * @param readAheadRequests  the number of chunks read in advance
+     * @param readAheadHits      the number of chunks loaded from the data read in advance
+     */
+    public record Metrics(int queueDepth, int openRegions, long reads, long readLatencyNanos,
+                          long readAheadRequests, long readAheadHits) {
+        public long averageReadLatencyNanos() {
+            return reads == 0 ? 0 : readLatencyNanos / reads;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RegionAction<T> {
+        T apply(RegionFile file) throws IOException, AnvilException;
+    }
+
+    private static final class Region {
+        private final RegionFile file;
+        // Guarded by this
+        private boolean closed;
+
+        Region(RegionFile file) {
+            this.file = file;
+        }
+
+        synchronized void close() {
+            if (closed) return;
+            this.closed = true;
+            try {
+                file.close();
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the reads of a region file one after the other on the I/O pool.
+     */
+    private static final class RegionQueue implements Executor {
+        private static final int BATCH_SIZE = 16;
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+
+        @Override
+        public void execute(@NotNull Runnable task) {
+            synchronized (this) {
+                this.tasks.add(task);
+                if (running) return;
+                this.running = true;
+            }
+            Pool.EXECUTOR.execute(this::drain);
+        }
+
+        synchronized boolean isIdle() {
+            return !running && tasks.isEmpty();
+        }
+
+        private void drain() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final Runnable task;
+                synchronized (this) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        this.running = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+            }
+            // Let the other regions progress
+            Pool.EXECUTOR.execute(this::drain);
+        }
+    }
+
+    private static final class Pool {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "Ms-anvil-io-" + COUNTER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.snapshot.Snapshotable;
 import net.minestom.server.tag.TagHandler;
@@ -14,6 +15,7 @@ import net.minestom.server.tag.Taggable;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -86,6 +88,29 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
 
     public abstract @NotNull Int2ObjectMap<Block> getEntries();
 
+    /**
+     * Gets the blocks whose handler may react to {@link BlockHandler#onTouch(BlockHandler.Touch)}.
+     * <p>
+     * Used by entities to skip contact checks, the chunk must be locked while reading the map.
+     * Defaults to {@link #getEntries()}.
+     *
+     * @return the blocks which can be touched, with the same keys as {@link #getEntries()}
+     */
+    @ApiStatus.Internal
+    public @NotNull Int2ObjectMap<Block> getTouchableEntries() {
+        return getEntries();
+    }
+
+    /**
+     * Gets a number changing every time {@link #getTouchableEntries()} is modified.
+     *
+     * @return the version of the touchable blocks, {@link Integer#MIN_VALUE} if changes are not tracked
+     */
+    @ApiStatus.Internal
+    public int getTouchableVersion() {
+        return Integer.MIN_VALUE;
+    }
+
     public abstract @NotNull List<Section> getSections();
 
     public abstract @NotNull Section getSection(int section);
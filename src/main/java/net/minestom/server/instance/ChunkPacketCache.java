@@ -0,0 +1,118 @@
+package net.minestom.server.instance;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.CompressionPipeline;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.utils.PacketUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-wide cache of framed (and compressed) chunk packets, keyed by chunk revision.
+ * <p>
+ * Revisions belong to an owner, generally the instance of the chunk. Chunks created from an {@link InstanceTemplate}
+ * use the revision of the template until modified, sharing their packets with the other instances.
+ * <p>
+ * Unlike the soft reference held by each chunk, entries are kept until the memory bound defined by
+ * the {@code minestom.chunk-packet-cache-size} property (in bytes, 0 to disable) is reached,
+ * at which point the least used entries are evicted.
+ */
+@ApiStatus.Experimental
+public final class ChunkPacketCache {
+    private static final long MAX_SIZE = Long.getLong("minestom.chunk-packet-cache-size", 64L * 1024 * 1024);
+    private static final AtomicLong REVISION_COUNTER = new AtomicLong();
+
+    private static final Cache<Key, FramedPacket> CACHE = Caffeine.newBuilder()
+            .maximumWeight(Math.max(0, MAX_SIZE))
+            .weigher((Key key, FramedPacket packet) -> packet.body().capacity())
+            .recordStats()
+            .build();
+
+    private ChunkPacketCache() {
+    }
+
+    /**
+     * Gets a new revision, unique across all chunks.
+     *
+     * @return a new chunk revision
+     */
+    static long nextRevision() {
+        return REVISION_COUNTER.incrementAndGet();
+    }
+
+    static @Nullable FramedPacket getIfPresent(@NotNull Chunk chunk, @NotNull UUID owner, long revision, boolean light) {
+        if (MAX_SIZE <= 0) return null;
+        return CACHE.getIfPresent(new Key(owner, chunk.getChunkX(), chunk.getChunkZ(), revision, light));
+    }
+
+    /**
+     * Frames and caches a packet.
+     * <p>
+     * The packet must have been built while holding the chunk lock, along with reading its revision.
+     *
+     * @return the framed packet, or the one cached concurrently under the same revision
+     */
+    static @NotNull FramedPacket put(@NotNull Chunk chunk, @NotNull UUID owner, long revision, boolean light,
+                                     @NotNull ServerPacket packet) {
+        if (MAX_SIZE <= 0) return frame(packet);
+        final Key key = new Key(owner, chunk.getChunkX(), chunk.getChunkZ(), revision, light);
+        final FramedPacket framed = frame(packet);
+        final FramedPacket previous = CACHE.asMap().putIfAbsent(key, framed);
+        return previous != null ? previous : framed;
+    }
+
+    /**
+     * Removes all the cached packets of an instance.
+     *
+     * @param instance the instance to remove the packets of
+     */
+    public static void invalidate(@NotNull Instance instance) {
+        final UUID uuid = instance.getUniqueId();
+        CACHE.asMap().keySet().removeIf(key -> key.instance().equals(uuid));
+    }
+
+    /**
+     * Gets the cache statistics.
+     *
+     * @return the cache statistics
+     */
+    public static @NotNull Stats stats() {
+        final CacheStats stats = CACHE.stats();
+        final long size = CACHE.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+        return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount(), CACHE.estimatedSize(), size);
+    }
+
+    private static FramedPacket frame(ServerPacket packet) {
+        // The compressed format is only understood by the client once compression has been enabled
+        return CompressionPipeline.ENABLED && MinecraftServer.getCompressionThreshold() > 0 ?
+                CompressionPipeline.frame(packet) : PacketUtils.allocateTrimmedPacket(packet);
+    }
+
+    /**
+     * Chunk packet cache statistics.
+     *
+     * @param hits      the number of packets retrieved from the cache
+     * @param misses    the number of packets which had to be computed
+     * @param evictions the number of packets evicted due to the memory bound
+     * @param entries   the number of cached packets
+     * @param bytes     the size of the cached packets
+     */
+    public record Stats(long hits, long misses, long evictions, long entries, long bytes) {
+        public double hitRate() {
+            final long requests = hits + misses;
+            return requests == 0 ? 1 : (double) hits / requests;
+        }
+    }
+
+    private record Key(UUID instance, int chunkX, int chunkZ, long revision, boolean light) {
+    }
+}
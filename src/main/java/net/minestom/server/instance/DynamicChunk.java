@@ -11,6 +11,8 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.network.packet.server.play.UpdateLightPacket;
 import net.minestom.server.network.packet.server.play.data.ChunkBiomeData;
@@ -20,7 +22,6 @@ import net.minestom.server.snapshot.ChunkSnapshot;
 import net.minestom.server.snapshot.SnapshotImpl;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
@@ -29,6 +30,8 @@ import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBT;
 import org.jglrxavpok.hephaistos.nbt.NBTCompound;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
@@ -39,34 +42,82 @@ import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordi
  * WARNING: not thread-safe.
  */
 public class DynamicChunk extends Chunk {
+    private static final VarHandle REVISION;
+    private static final VarHandle LIGHT_REVISION;
+
+    static {
+        try {
+            REVISION = MethodHandles.lookup().findVarHandle(DynamicChunk.class, "revision", long.class);
+            LIGHT_REVISION = MethodHandles.lookup().findVarHandle(DynamicChunk.class, "lightRevision", long.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final ClassValue<Boolean> TOUCHABLE_HANDLERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("onTouch", BlockHandler.Touch.class).getDeclaringClass() != BlockHandler.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
 
     private Section[] sections;
 
     // Key = ChunkUtils#getBlockIndex
     protected final Int2ObjectOpenHashMap<Block> entries;
     protected final Int2ObjectOpenHashMap<Block> tickableMap;
+    // Blocks whose handler overrides BlockHandler#onTouch, checked by entities every tick
+    protected final Int2ObjectOpenHashMap<Block> touchableMap;
+    private volatile int touchableVersion;
+
+    private final Heightmap[] heightmaps;
+    private boolean heightmapsOutdated = true;
+    private NBTCompound heightmapsNBT;
+
+    // Content of the last snapshot, reused until the next modification
+    private Section[] snapshotSections;
+    private Int2ObjectOpenHashMap<Block> snapshotEntries;
+    private long snapshotRevision;
 
     private long lastChange;
-    final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
-    final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
+    // Identifies the current content of the chunk in ChunkPacketCache
+    // Revisions are unique, reading the owner and the revision separately can at worst miss the cache
+    private volatile UUID revisionOwner = instance.getUniqueId();
+    // 0 once modified, a new revision is only allocated when a packet is requested
+    private volatile long revision;
+    // Light modified by the light engine, sent after the chunk packet instead of invalidating it
+    private volatile long lightRevision;
+    private volatile boolean lightOutdated;
+    // Whether another chunk may use the same revision, its chunk packet then has to follow the light
+    private volatile boolean revisionShared;
+    final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket, () -> sharedPacket(false));
+    final CachedPacket lightCache = new CachedPacket(this::createLightPacket, () -> sharedPacket(true));
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
         super(instance, chunkX, chunkZ, true);
         var sectionsTemp = new Section[maxSection - minSection];
         Arrays.setAll(sectionsTemp, value -> new Section());
         this.sections = sectionsTemp;
+        this.heightmaps = createHeightmaps();
 
         this.entries = new Int2ObjectOpenHashMap<>(0);
         this.tickableMap = new Int2ObjectOpenHashMap<>(0);
+        this.touchableMap = new Int2ObjectOpenHashMap<>(0);
     }
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ, @NotNull Section[] sections,
                         @NotNull Int2ObjectMap<Block> blockEntries) {
         super(instance, chunkX, chunkZ, true);
         this.sections = sections;
+        this.heightmaps = createHeightmaps();
 
         Int2ObjectOpenHashMap<Block> newEntries = new Int2ObjectOpenHashMap<>(blockEntries.size());
         Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>();
+        Int2ObjectOpenHashMap<Block> touchableMap = new Int2ObjectOpenHashMap<>(0);
         for (Int2ObjectMap.Entry<Block> blockEntry : blockEntries.int2ObjectEntrySet()) {
             int key = blockEntry.getIntKey();
             Block block = blockEntry.getValue();
@@ -82,22 +133,34 @@ public class DynamicChunk extends Chunk {
             if (handler != null && handler.isTickable()) {
                 tickableMap.put(key, block);
             }
+            if (handler != null && isTouchable(handler)) {
+                touchableMap.put(key, block);
+            }
         }
 
         this.entries = newEntries;
         this.tickableMap = tickableMap;
+        this.touchableMap = touchableMap;
     }
 
     @Override
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         assertLock();
         this.lastChange = System.currentTimeMillis();
-        this.chunkCache.invalidate();
-        this.lightCache.invalidate();
 
         Section section = getSectionAt(y);
         section.blockPalette()
                 .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        section.invalidate();
+        invalidatePackets();
+        // Heightmaps
+        if (!heightmapsOutdated) {
+            final int localX = toSectionRelativeCoordinate(x), localZ = toSectionRelativeCoordinate(z);
+            for (Heightmap heightmap : heightmaps) {
+                if (heightmap.update(sections, localX, y, localZ, block)) this.heightmapsNBT = null;
+            }
+        }
+        LightEngine.onBlockChange(this);
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
@@ -113,6 +176,13 @@ public class DynamicChunk extends Chunk {
         } else {
             this.tickableMap.remove(index);
         }
+        // Block touch
+        if (handler != null && isTouchable(handler)) {
+            this.touchableMap.put(index, block);
+            this.touchableVersion++;
+        } else if (this.touchableMap.remove(index) != null) {
+            this.touchableVersion++;
+        }
     }
 
     @Override
@@ -123,23 +193,25 @@ public class DynamicChunk extends Chunk {
     @Override
     public void setBiomeById(int x, int y, int z, int biomeId) {
         assertLock();
-        this.chunkCache.invalidate();
         Section section = getSectionAt(y);
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
                 toSectionRelativeCoordinate(y) / 4,
                 toSectionRelativeCoordinate(z) / 4, biomeId);
+        section.invalidate();
+        invalidatePackets();
     }
 
     @Override
     public void setBiome(int x, int y, int z, @NotNull Biome biome) {
         assertLock();
-        this.chunkCache.invalidate();
         Section section = getSectionAt(y);
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
                 toSectionRelativeCoordinate(y) / 4,
                 toSectionRelativeCoordinate(z) / 4, MinecraftServer.getBiomeManager().getId(biome));
+        section.invalidate();
+        invalidatePackets();
     }
 
     @Override
@@ -162,6 +234,16 @@ public class DynamicChunk extends Chunk {
         return newSections;
     }
 
+    @Override
+    public @NotNull Int2ObjectMap<Block> getTouchableEntries() {
+        return Int2ObjectMaps.unmodifiable(touchableMap);
+    }
+
+    @Override
+    public int getTouchableVersion() {
+        return touchableVersion;
+    }
+
     @Override
     public void tick(long time) {
         if (tickableMap.isEmpty()) return;
@@ -219,6 +301,19 @@ public class DynamicChunk extends Chunk {
         return MinecraftServer.getBiomeManager().getById(id);
     }
 
+    /**
+     * Gets the heightmap of the given type.
+     * <p>
+     * The chunk must be locked, similarly to block access.
+     *
+     * @param type the heightmap type
+     * @return the heightmap, updated with the chunk
+     */
+    public @NotNull Heightmap heightmap(@NotNull Heightmap.Type type) {
+        assertLock();
+        return updatedHeightmaps()[type.ordinal()];
+    }
+
     @Override
     public long getLastChangeTime() {
         return lastChange;
@@ -230,7 +325,9 @@ public class DynamicChunk extends Chunk {
 
         PreSendChunkEvent preSendChunkEvent = new PreSendChunkEvent(this);
         EventDispatcher.call(preSendChunkEvent);
-        player.sendPacket(preSendChunkEvent.chunk().chunkCache);
+        final DynamicChunk chunk = preSendChunkEvent.chunk();
+        player.sendPacket(chunk.chunkCache);
+        if (chunk.lightOutdated) player.sendPacket(chunk.lightCache);
     }
 
     @Override
@@ -239,7 +336,9 @@ public class DynamicChunk extends Chunk {
 
         PreSendChunkEvent preSendChunkEvent = new PreSendChunkEvent(this);
         EventDispatcher.call(preSendChunkEvent);
-        sendPacketToViewers(preSendChunkEvent.chunk().chunkCache);
+        final DynamicChunk chunk = preSendChunkEvent.chunk();
+        sendPacketToViewers(chunk.chunkCache);
+        if (chunk.lightOutdated) sendPacketToViewers(chunk.lightCache);
     }
 
     @Override
@@ -247,6 +346,13 @@ public class DynamicChunk extends Chunk {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
         dynamicChunk.sections = sectionCopy();
         dynamicChunk.entries.putAll(entries);
+        entries.int2ObjectEntrySet().fastForEach(entry -> {
+            final BlockHandler handler = entry.getValue().handler();
+            if (handler != null && isTouchable(handler)) dynamicChunk.touchableMap.put(entry.getIntKey(), entry.getValue());
+        });
+        // Same content, the packets can be shared until one of the chunks is modified
+        this.revisionShared = true;
+        dynamicChunk.shareRevision(revisionOwner, revision());
         return dynamicChunk;
     }
 
@@ -254,32 +360,146 @@ public class DynamicChunk extends Chunk {
     public void reset() {
         for (Section section : sections) section.clear();
         this.entries.clear();
+        this.touchableMap.clear();
+        this.touchableVersion++;
+        invalidate();
     }
 
-    private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
-            }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
+    /**
+     * Invalidates the cached sections and packets after a modification.
+     */
+    void invalidate() {
+        for (Section section : sections) section.invalidate();
+        this.heightmapsOutdated = true;
+        this.heightmapsNBT = null;
+        invalidatePackets();
+    }
+
+    /**
+     * Uses the cached packets of another chunk with the same content, until the next modification.
+     *
+     * @param owner    the owner of the revision
+     * @param revision the revision of the content
+     */
+    void shareRevision(@NotNull UUID owner, long revision) {
+        this.revisionOwner = owner;
+        this.revision = revision;
+        this.lightRevision = 0;
+        this.lightOutdated = false;
+        this.revisionShared = true;
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+    }
+
+    private void invalidatePackets() {
+        this.revisionOwner = instance.getUniqueId();
+        this.revision = 0;
+        this.lightRevision = 0;
+        this.lightOutdated = false;
+        this.revisionShared = false;
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+    }
+
+    /**
+     * Invalidates the light packet, the chunk packet is kept and followed by the light packet when sent.
+     */
+    private void invalidateLight() {
+        this.lightRevision = 0;
+        this.lightOutdated = true;
+        this.lightCache.invalidate();
+    }
+
+    /**
+     * Gets the revision of the current content, allocating one if the chunk has been modified since the last call.
+     */
+    private long revision() {
+        final long revision = this.revision;
+        if (revision != 0) return revision;
+        final long next = ChunkPacketCache.nextRevision();
+        final long witness = (long) REVISION.compareAndExchange(this, 0L, next);
+        return witness == 0 ? next : witness;
+    }
+
+    private long lightRevision() {
+        if (!lightOutdated) return revision();
+        final long revision = this.lightRevision;
+        if (revision != 0) return revision;
+        final long next = ChunkPacketCache.nextRevision();
+        final long witness = (long) LIGHT_REVISION.compareAndExchange(this, 0L, next);
+        return witness == 0 ? next : witness;
+    }
+
+    /**
+     * Gets a packet from the {@link ChunkPacketCache}, built under the same lock as the revision it is cached with.
+     */
+    private FramedPacket sharedPacket(boolean light) {
+        final FramedPacket cached = ChunkPacketCache.getIfPresent(this, revisionOwner,
+                light ? lightRevision() : revision(), light);
+        if (cached != null) return cached;
+        final UUID owner;
+        final long revision;
+        final ServerPacket packet;
+        synchronized (this) {
+            // Modifications hold the lock, the revision cannot change while the packet is built
+            owner = revisionOwner;
+            revision = light ? lightRevision() : revision();
+            packet = light ? createLightPacket() : createChunkPacket();
+        }
+        return ChunkPacketCache.put(this, owner, revision, light, packet);
+    }
+
+    private Heightmap[] createHeightmaps() {
+        final int minY = minSection * CHUNK_SECTION_SIZE;
+        final int height = (maxSection - minSection) * CHUNK_SECTION_SIZE;
+        final Heightmap.Type[] types = Heightmap.Type.values();
+        Heightmap[] heightmaps = new Heightmap[types.length];
+        for (Heightmap.Type type : types) heightmaps[type.ordinal()] = new Heightmap(type, minY, height);
+        return heightmaps;
+    }
+
+    private Heightmap[] updatedHeightmaps() {
+        if (heightmapsOutdated) {
+            for (Heightmap heightmap : heightmaps) heightmap.refresh(sections);
+            this.heightmapsOutdated = false;
+        }
+        return heightmaps;
+    }
+
+    /**
+     * Gets the heightmaps in the format used by chunk packets and anvil files.
+     *
+     * @return the heightmaps compound, cached until modified
+     */
+    synchronized @NotNull NBTCompound heightmapsNBT() {
+        NBTCompound heightmapsNBT = this.heightmapsNBT;
+        if (heightmapsNBT == null) {
+            final Heightmap[] heightmaps = updatedHeightmaps();
             heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(encodeBlocks(worldSurface, bitsForHeight))));
+                    "MOTION_BLOCKING", NBT.LongArray(heightmaps[Heightmap.Type.MOTION_BLOCKING.ordinal()].data()),
+                    "WORLD_SURFACE", NBT.LongArray(heightmaps[Heightmap.Type.WORLD_SURFACE.ordinal()].data()),
+                    "OCEAN_FLOOR", NBT.LongArray(heightmaps[Heightmap.Type.OCEAN_FLOOR.ordinal()].data())));
+            this.heightmapsNBT = heightmapsNBT;
+        }
+        return heightmapsNBT;
+    }
+
+    private synchronized @NotNull ChunkDataPacket createChunkPacket() {
+        final NBTCompound heightmapsNBT = heightmapsNBT();
+        // Data, concatenation of the cached sections
+        int length = 0;
+        final byte[][] encodedSections = new byte[sections.length][];
+        for (int i = 0; i < sections.length; i++) {
+            final byte[] encoded = sections[i].encoded();
+            encodedSections[i] = encoded;
+            length += encoded.length;
+        }
+        final byte[] data = new byte[length];
+        int offset = 0;
+        for (byte[] encoded : encodedSections) {
+            System.arraycopy(encoded, 0, data, offset, encoded.length);
+            offset += encoded.length;
         }
-        // Data
-        final byte[] data = ObjectPool.PACKET_POOL.use(buffer ->
-                NetworkBuffer.makeArray(networkBuffer -> {
-                    for (Section section : sections) networkBuffer.write(section);
-                }));
         return new ChunkDataPacket(chunkX, chunkZ,
                 new ChunkData(heightmapsNBT, data, entries),
                 createLightData());
@@ -289,6 +509,35 @@ public class DynamicChunk extends Chunk {
         return new UpdateLightPacket(chunkX, chunkZ, createLightData());
     }
 
+    /**
+     * Replaces the light computed by the {@link LightEngine}, viewers only receive the modified sections.
+     *
+     * @param skyLight   the new sky light of each section
+     * @param blockLight the new block light of each section
+     */
+    synchronized void applyLight(byte[][] skyLight, byte[][] blockLight) {
+        BitSet modified = new BitSet(sections.length);
+        for (int i = 0; i < sections.length; i++) {
+            final Section section = sections[i];
+            if (!Arrays.equals(section.getSkyLight(), skyLight[i])) {
+                section.setSkyLight(skyLight[i]);
+                modified.set(i);
+            }
+            if (!Arrays.equals(section.getBlockLight(), blockLight[i])) {
+                section.setBlockLight(blockLight[i]);
+                modified.set(i);
+            }
+        }
+        if (modified.isEmpty()) return;
+        if (revisionShared) {
+            // The shared chunk packet cannot follow the light of this chunk only
+            invalidatePackets();
+        } else {
+            invalidateLight();
+        }
+        sendPacketToViewers(new UpdateLightPacket(chunkX, chunkZ, createLightData(modified)));
+    }
+
     public synchronized @NotNull ChunkBiomeData createBiomeData() {
         final byte[] data = ObjectPool.PACKET_POOL.use(buffer ->
                 NetworkBuffer.makeArray(networkBuffer -> {
@@ -298,6 +547,10 @@ public class DynamicChunk extends Chunk {
     }
 
     private LightData createLightData() {
+        return createLightData(null);
+    }
+
+    private LightData createLightData(@Nullable BitSet filter) {
         BitSet skyMask = new BitSet();
         BitSet blockMask = new BitSet();
         BitSet emptySkyMask = new BitSet();
@@ -305,9 +558,10 @@ public class DynamicChunk extends Chunk {
         List<byte[]> skyLights = new ArrayList<>();
         List<byte[]> blockLights = new ArrayList<>();
 
-        int index = 0;
-        for (Section section : sections) {
-            index++;
+        for (int i = 0; i < sections.length; i++) {
+            if (filter != null && !filter.get(i)) continue;
+            final Section section = sections[i];
+            final int index = i + 1; // First bit is the section below the world
             final byte[] skyLight = section.getSkyLight();
             final byte[] blockLight = section.getBlockLight();
             if (skyLight.length != 0) {
@@ -331,59 +585,32 @@ public class DynamicChunk extends Chunk {
 
     @Override
     public @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
-        Section[] clonedSections = sectionCopy();
+        final Section[] clonedSections;
+        final Int2ObjectOpenHashMap<Block> clonedEntries;
+        synchronized (this) {
+            final long revision = revision();
+            if (snapshotSections == null || snapshotRevision != revision) {
+                // Sections are copy-on-write, unchanged ones are shared with the live chunk
+                this.snapshotSections = sectionCopy();
+                this.snapshotEntries = entries.clone();
+                this.snapshotRevision = revision;
+            }
+            clonedSections = snapshotSections;
+            clonedEntries = snapshotEntries;
+        }
 
         var entities = instance.getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES);
         final int[] entityIds = ArrayUtils.mapToIntArray(entities, Entity::getEntityId);
         return new SnapshotImpl.Chunk(minSection, chunkX, chunkZ,
-                clonedSections, entries.clone(), entityIds, updater.reference(instance),
+                clonedSections, clonedEntries, entityIds, updater.reference(instance),
                 tagHandler().readableCopy());
     }
 
-    private void assertLock() {
-        assert Thread.holdsLock(this) : "Chunk must be locked before access";
+    private static boolean isTouchable(BlockHandler handler) {
+        return TOUCHABLE_HANDLERS.get(handler.getClass());
     }
 
-    private static final int[] MAGIC = {
-            -1, -1, 0, Integer.MIN_VALUE, 0, 0, 1431655765, 1431655765, 0, Integer.MIN_VALUE,
-            0, 1, 858993459, 858993459, 0, 715827882, 715827882, 0, 613566756, 613566756,
-            0, Integer.MIN_VALUE, 0, 2, 477218588, 477218588, 0, 429496729, 429496729, 0,
-            390451572, 390451572, 0, 357913941, 357913941, 0, 330382099, 330382099, 0, 306783378,
-            306783378, 0, 286331153, 286331153, 0, Integer.MIN_VALUE, 0, 3, 252645135, 252645135,
-            0, 238609294, 238609294, 0, 226050910, 226050910, 0, 214748364, 214748364, 0,
-            204522252, 204522252, 0, 195225786, 195225786, 0, 186737708, 186737708, 0, 178956970,
-            178956970, 0, 171798691, 171798691, 0, 165191049, 165191049, 0, 159072862, 159072862,
-            0, 153391689, 153391689, 0, 148102320, 148102320, 0, 143165576, 143165576, 0,
-            138547332, 138547332, 0, Integer.MIN_VALUE, 0, 4, 130150524, 130150524, 0, 126322567,
-            126322567, 0, 122713351, 122713351, 0, 119304647, 119304647, 0, 116080197, 116080197,
-            0, 113025455, 113025455, 0, 110127366, 110127366, 0, 107374182, 107374182, 0,
-            104755299, 104755299, 0, 102261126, 102261126, 0, 99882960, 99882960, 0, 97612893,
-            97612893, 0, 95443717, 95443717, 0, 93368854, 93368854, 0, 91382282, 91382282,
-            0, 89478485, 89478485, 0, 87652393, 87652393, 0, 85899345, 85899345, 0,
-            84215045, 84215045, 0, 82595524, 82595524, 0, 81037118, 81037118, 0, 79536431,
-            79536431, 0, 78090314, 78090314, 0, 76695844, 76695844, 0, 75350303, 75350303,
-            0, 74051160, 74051160, 0, 72796055, 72796055, 0, 71582788, 71582788, 0,
-            70409299, 70409299, 0, 69273666, 69273666, 0, 68174084, 68174084, 0, Integer.MIN_VALUE,
-            0, 5};
-
-    private static long[] encodeBlocks(int[] blocks, int bitsPerEntry) {
-        final long maxEntryValue = (1L << bitsPerEntry) - 1;
-        final char valuesPerLong = (char) (64 / bitsPerEntry);
-        final int magicIndex = 3 * (valuesPerLong - 1);
-        final long divideMul = Integer.toUnsignedLong(MAGIC[magicIndex]);
-        final long divideAdd = Integer.toUnsignedLong(MAGIC[magicIndex + 1]);
-        final int divideShift = MAGIC[magicIndex + 2];
-        final int size = (blocks.length + valuesPerLong - 1) / valuesPerLong;
-
-        long[] data = new long[size];
-
-        for (int i = 0; i < blocks.length; i++) {
-            final long value = blocks[i];
-            final int cellIndex = (int) (i * divideMul + divideAdd >> 32L >> divideShift);
-            final int bitIndex = (i - cellIndex * valuesPerLong) * bitsPerEntry;
-            data[cellIndex] = data[cellIndex] & ~(maxEntryValue << bitIndex) | (value & maxEntryValue) << bitIndex;
-        }
-
-        return data;
+    private void assertLock() {
+        assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
 }
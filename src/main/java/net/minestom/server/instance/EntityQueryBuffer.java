@@ -0,0 +1,168 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Reusable result of the {@link EntityTracker} queries, holding the entities, their ids and their squared distance
+ * to the query point in parallel arrays.
+ * <p>
+ * The buffer is cleared at the start of each query and grows as needed, reusing it (e.g. one per AI goal or thread)
+ * makes queries allocation-free. Not thread-safe.
+ */
+@ApiStatus.Experimental
+public final class EntityQueryBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Entity[] entities;
+    private int[] ids;
+    private double[] distances;
+    private int size;
+
+    // Current query, filters applied by #offer
+    private double x, y, z;
+    private double squaredRange;
+    private int limit;
+    private Class<? extends Entity> targetType;
+    private EntityType entityType;
+    private BoundingBox boundingBox;
+
+    public EntityQueryBuffer(int initialCapacity) {
+        final int capacity = Math.max(1, initialCapacity);
+        this.entities = new Entity[capacity];
+        this.ids = new int[capacity];
+        this.distances = new double[capacity];
+    }
+
+    public EntityQueryBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Gets the number of entities found by the last query.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public @NotNull Entity entity(int index) {
+        checkIndex(index);
+        return entities[index];
+    }
+
+    public int entityId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * Gets the squared distance between the query point and the position of an entity.
+     *
+     * @param index the entity index
+     * @return the squared distance
+     */
+    public double distanceSquared(int index) {
+        checkIndex(index);
+        return distances[index];
+    }
+
+    /**
+     * Removes the entities, allowing them to be garbage collected.
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        this.size = 0;
+        this.targetType = null;
+        this.entityType = null;
+        this.boundingBox = null;
+    }
+
+    /**
+     * Starts a new query, clearing the previous result.
+     *
+     * @param limit the maximum number of entities kept sorted by distance, -1 to keep all entities unsorted
+     */
+    void start(double x, double y, double z, double range, int limit,
+               @NotNull Class<? extends Entity> targetType, @Nullable EntityType entityType,
+               @Nullable BoundingBox boundingBox) {
+        clear();
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.squaredRange = range * range;
+        this.limit = limit;
+        this.targetType = targetType;
+        this.entityType = entityType;
+        this.boundingBox = boundingBox;
+    }
+
+    /**
+     * Adds an entity to the result if it passes the query filters.
+     * Does not call any external code, can be called with tracker locks held.
+     */
+    void offer(@NotNull Entity entity, double entityX, double entityY, double entityZ) {
+        if (!targetType.isInstance(entity)) return;
+        if (entityType != null && entity.getEntityType() != entityType) return;
+        final double dx = entityX - x, dy = entityY - y, dz = entityZ - z;
+        final double distance = dx * dx + dy * dy + dz * dz;
+        final BoundingBox boundingBox = this.boundingBox;
+        if (boundingBox != null) {
+            final BoundingBox entityBox = entity.getBoundingBox();
+            if (entityX + entityBox.minX() >= x + boundingBox.maxX() || entityX + entityBox.maxX() <= x + boundingBox.minX() ||
+                    entityY + entityBox.minY() >= y + boundingBox.maxY() || entityY + entityBox.maxY() <= y + boundingBox.minY() ||
+                    entityZ + entityBox.minZ() >= z + boundingBox.maxZ() || entityZ + entityBox.maxZ() <= z + boundingBox.minZ()) {
+                return;
+            }
+        } else if (distance > squaredRange) {
+            return;
+        }
+        if (limit < 0) {
+            if (size == entities.length) grow();
+            insert(size, entity, distance);
+            return;
+        }
+        // Sorted insertion, the furthest entity is dropped once the limit is reached
+        int index = size;
+        while (index > 0 && distances[index - 1] > distance) index--;
+        if (index >= limit) return;
+        final int moved = Math.min(size, limit - 1) - index;
+        if (size < limit && size == entities.length) grow();
+        System.arraycopy(entities, index, entities, index + 1, moved);
+        System.arraycopy(ids, index, ids, index + 1, moved);
+        System.arraycopy(distances, index, distances, index + 1, moved);
+        if (size == limit) this.size--;
+        insert(index, entity, distance);
+    }
+
+    private void insert(int index, Entity entity, double distance) {
+        this.entities[index] = entity;
+        this.ids[index] = entity.getEntityId();
+        this.distances[index] = distance;
+        this.size++;
+    }
+
+    private void grow() {
+        final int capacity = entities.length * 2;
+        this.entities = Arrays.copyOf(entities, capacity);
+        this.ids = Arrays.copyOf(ids, capacity);
+        this.distances = Arrays.copyOf(distances, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Index of the entity positions by section-sized cells, used by {@link EntityTrackerImpl} for small range queries.
+ * <p>
+ * Positions are stored inline in primitive arrays, queries compare them without looking up each entity.
+ * Matching entities are collected under the cell lock and given to the query once it is released,
+ * queries are therefore free to modify the tracker.
+ */
+final class EntitySpatialIndex {
+    private static final int CELL_SHIFT = 4; // Section size
+    private static final ThreadLocal<Matches> LOCAL_MATCHES = ThreadLocal.withInitial(Matches::new);
+
+    private final Long2ObjectSyncMap<Cell> cells = Long2ObjectSyncMap.hashmap();
+
+    void add(@NotNull Entity entity, @NotNull Point point) {
+        final long key = cellKey(point.x(), point.y(), point.z());
+        while (true) {
+            final Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+            synchronized (cell) {
+                // Retry if the cell has been removed in the meantime
+                if (cell.removed) continue;
+                cell.add(entity, point);
+                return;
+            }
+        }
+    }
+
+    void remove(@NotNull Entity entity, @NotNull Point point) {
+        final long key = cellKey(point.x(), point.y(), point.z());
+        final Cell cell = cells.get(key);
+        if (cell == null) return;
+        synchronized (cell) {
+            cell.remove(entity.getEntityId());
+            if (cell.size == 0) {
+                cell.removed = true;
+                cells.remove(key, cell);
+            }
+        }
+    }
+
+    void move(@NotNull Entity entity, @NotNull Point oldPoint, @NotNull Point newPoint) {
+        final long oldKey = cellKey(oldPoint.x(), oldPoint.y(), oldPoint.z());
+        final long newKey = cellKey(newPoint.x(), newPoint.y(), newPoint.z());
+        if (oldKey == newKey) {
+            final Cell cell = cells.get(oldKey);
+            if (cell != null) {
+                synchronized (cell) {
+                    if (!cell.removed && cell.update(entity.getEntityId(), newPoint)) return;
+                }
+            }
+            add(entity, newPoint);
+        } else {
+            remove(entity, oldPoint);
+            add(entity, newPoint);
+        }
+    }
+
+    /**
+     * Gives the entities whose position is within a range, until the query returns true.
+     */
+    void nearbyUntil(@NotNull Point point, double range, @NotNull Class<? extends Entity> type,
+                     @NotNull Predicate<Entity> query) {
+        final double x = point.x(), y = point.y(), z = point.z();
+        final double squaredRange = range * range;
+        final int minX = cellCoordinate(x - range), maxX = cellCoordinate(x + range);
+        final int minY = cellCoordinate(y - range), maxY = cellCoordinate(y + range);
+        final int minZ = cellCoordinate(z - range), maxZ = cellCoordinate(z + range);
+        final Matches matches = LOCAL_MATCHES.get();
+        final int start = matches.size;
+        try {
+            for (int cellX = minX; cellX <= maxX; cellX++) {
+                for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                    for (int cellY = minY; cellY <= maxY; cellY++) {
+                        final Cell cell = cells.get(cellKey(cellX, cellY, cellZ));
+                        if (cell == null) continue;
+                        synchronized (cell) {
+                            for (int i = 0; i < cell.size; i++) {
+                                final double dx = cell.x[i] - x, dy = cell.y[i] - y, dz = cell.z[i] - z;
+                                if (dx * dx + dy * dy + dz * dz > squaredRange) continue;
+                                final Entity entity = cell.entities[i];
+                                if (type.isInstance(entity)) matches.add(entity);
+                            }
+                        }
+                        if (matches.test(start, query)) return;
+                    }
+                }
+            }
+        } finally {
+            matches.clear(start);
+        }
+    }
+
+    /**
+     * Gives the entities whose position is inside a box, both corners included.
+     */
+    void inBox(@NotNull Point min, @NotNull Point max, @NotNull Class<? extends Entity> type,
+               @NotNull Predicate<Entity> query) {
+        final double fromX = Math.min(min.x(), max.x()), toX = Math.max(min.x(), max.x());
+        final double fromY = Math.min(min.y(), max.y()), toY = Math.max(min.y(), max.y());
+        final double fromZ = Math.min(min.z(), max.z()), toZ = Math.max(min.z(), max.z());
+        final Matches matches = LOCAL_MATCHES.get();
+        final int start = matches.size;
+        try {
+            for (int cellX = cellCoordinate(fromX); cellX <= cellCoordinate(toX); cellX++) {
+                for (int cellZ = cellCoordinate(fromZ); cellZ <= cellCoordinate(toZ); cellZ++) {
+                    for (int cellY = cellCoordinate(fromY); cellY <= cellCoordinate(toY); cellY++) {
+                        final Cell cell = cells.get(cellKey(cellX, cellY, cellZ));
+                        if (cell == null) continue;
+                        synchronized (cell) {
+                            for (int i = 0; i < cell.size; i++) {
+                                final double x = cell.x[i], y = cell.y[i], z = cell.z[i];
+                                if (x < fromX || x > toX || y < fromY || y > toY || z < fromZ || z > toZ) continue;
+                                final Entity entity = cell.entities[i];
+                                if (type.isInstance(entity)) matches.add(entity);
+                            }
+                        }
+                        if (matches.test(start, query)) return;
+                    }
+                }
+            }
+        } finally {
+            matches.clear(start);
+        }
+    }
+
+    /**
+     * Offers the entities of the cells overlapping a box to a buffer.
+     */
+    void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                 @NotNull EntityQueryBuffer buffer) {
+        for (int cellX = cellCoordinate(minX); cellX <= cellCoordinate(maxX); cellX++) {
+            for (int cellZ = cellCoordinate(minZ); cellZ <= cellCoordinate(maxZ); cellZ++) {
+                for (int cellY = cellCoordinate(minY); cellY <= cellCoordinate(maxY); cellY++) {
+                    final Cell cell = cells.get(cellKey(cellX, cellY, cellZ));
+                    if (cell == null) continue;
+                    // The buffer does not run external code
+                    synchronized (cell) {
+                        for (int i = 0; i < cell.size; i++) {
+                            buffer.offer(cell.entities[i], cell.x[i], cell.y[i], cell.z[i]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the entities of the cells crossed by a segment.
+     * <p>
+     * The cell below the segment is included, entity positions being at their feet.
+     */
+    void raytraceCandidates(@NotNull Point start, @NotNull Point end, @NotNull Class<? extends Entity> type,
+                            @NotNull Predicate<Entity> query) {
+        final int minY = cellCoordinate(Math.min(start.y(), end.y())) - 1;
+        final int maxY = cellCoordinate(Math.max(start.y(), end.y()));
+        final Matches matches = LOCAL_MATCHES.get();
+        final int offset = matches.size;
+        try {
+            ChunkUtils.raytraceCandidates(start, end, (cellX, cellZ) -> {
+                for (int cellY = minY; cellY <= maxY; cellY++) {
+                    final Cell cell = cells.get(cellKey(cellX, cellY, cellZ));
+                    if (cell == null) continue;
+                    synchronized (cell) {
+                        for (int i = 0; i < cell.size; i++) {
+                            final Entity entity = cell.entities[i];
+                            if (type.isInstance(entity)) matches.add(entity);
+                        }
+                    }
+                    matches.test(offset, query);
+                }
+            });
+        } finally {
+            matches.clear(offset);
+        }
+    }
+
+    private static int cellCoordinate(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(double x, double y, double z) {
+        return cellKey(cellCoordinate(x), cellCoordinate(y), cellCoordinate(z));
+    }
+
+    private static long cellKey(int cellX, int cellY, int cellZ) {
+        // 26 bits for X and Z, 12 bits for Y
+        return ((long) cellX & 0x3FFFFFF) << 38 | ((long) cellZ & 0x3FFFFFF) << 12 | (cellY & 0xFFF);
+    }
+
+    private static final class Cell {
+        Entity[] entities = new Entity[4];
+        int[] ids = new int[4];
+        double[] x = new double[4], y = new double[4], z = new double[4];
+        int size;
+        boolean removed;
+
+        void add(Entity entity, Point point) {
+            final int index = size;
+            if (index == entities.length) {
+                final int capacity = index * 2;
+                this.entities = Arrays.copyOf(entities, capacity);
+                this.ids = Arrays.copyOf(ids, capacity);
+                this.x = Arrays.copyOf(x, capacity);
+                this.y = Arrays.copyOf(y, capacity);
+                this.z = Arrays.copyOf(z, capacity);
+            }
+            this.entities[index] = entity;
+            this.ids[index] = entity.getEntityId();
+            this.x[index] = point.x();
+            this.y[index] = point.y();
+            this.z[index] = point.z();
+            this.size = index + 1;
+        }
+
+        void remove(int id) {
+            final int index = indexOf(id);
+            if (index == -1) return;
+            // Swap with the last entity
+            final int last = --size;
+            this.entities[index] = entities[last];
+            this.ids[index] = ids[last];
+            this.x[index] = x[last];
+            this.y[index] = y[last];
+            this.z[index] = z[last];
+            this.entities[last] = null;
+        }
+
+        boolean update(int id, Point point) {
+            final int index = indexOf(id);
+            if (index == -1) return false;
+            this.x[index] = point.x();
+            this.y[index] = point.y();
+            this.z[index] = point.z();
+            return true;
+        }
+
+        private int indexOf(int id) {
+            final int[] ids = this.ids;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Entities collected by the queries of a thread.
+     * Nested queries append after the entities of the outer ones.
+     */
+    private static final class Matches {
+        Entity[] entities = new Entity[64];
+        int size;
+
+        void add(Entity entity) {
+            if (size == entities.length) this.entities = Arrays.copyOf(entities, size * 2);
+            this.entities[size++] = entity;
+        }
+
+        /**
+         * Gives the entities collected since {@code start} to the query, then removes them.
+         *
+         * @return true if the query returned true
+         */
+        boolean test(int start, Predicate<Entity> query) {
+            try {
+                for (int i = start; i < size; i++) {
+                    if (query.test(entities[i])) return true;
+                }
+                return false;
+            } finally {
+                clear(start);
+            }
+        }
+
+        void clear(int start) {
+            Arrays.fill(entities, start, size, null);
+            this.size = start;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.minestom.server.instance;
 
 import net.minestom.server.Viewable;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.*;
 import org.jetbrains.annotations.ApiStatus;
@@ -65,6 +66,49 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntitiesUntil(@NotNull Point point, double range,
                                                 @NotNull Target<T> target, @NotNull Predicate<T> query);
 
+    /**
+     * Fills a buffer with the entities within a range, without allocating.
+     *
+     * @param point  the center of the range
+     * @param range  the maximum distance to the position of the entities
+     * @param target the entities to retrieve
+     * @param type   the entity type to keep, null to keep all types
+     * @param buffer the buffer receiving the entities, cleared first
+     * @return the number of entities found
+     */
+    <T extends Entity> int nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target,
+                                          @Nullable EntityType type, @NotNull EntityQueryBuffer buffer);
+
+    /**
+     * Fills a buffer with the nearest entities within a range, sorted by increasing distance.
+     *
+     * @param limit the maximum number of entities
+     * @return the number of entities found
+     * @see #nearbyEntities(Point, double, Target, EntityType, EntityQueryBuffer)
+     */
+    <T extends Entity> int nearestEntities(@NotNull Point point, double range, int limit, @NotNull Target<T> target,
+                                           @Nullable EntityType type, @NotNull EntityQueryBuffer buffer);
+
+    /**
+     * Fills a buffer with the entities whose bounding box intersects a box, without allocating.
+     * <p>
+     * Distances are computed from the position of the box.
+     *
+     * @param position    the position of the box
+     * @param boundingBox the box, relative to its position
+     * @return the number of entities found
+     * @see #nearbyEntities(Point, double, Target, EntityType, EntityQueryBuffer)
+     */
+    <T extends Entity> int intersectingEntities(@NotNull Point position, @NotNull BoundingBox boundingBox,
+                                                @NotNull Target<T> target, @Nullable EntityType type,
+                                                @NotNull EntityQueryBuffer buffer);
+
+    /**
+     * Gets the entities whose position is inside a box, both corners included.
+     */
+    <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max,
+                                          @NotNull Target<T> target, @NotNull Consumer<T> query);
+
     <T extends Entity> void raytraceCandidates(@NotNull Point start, @NotNull Point end, @NotNull Target<T> target,
                                                @NotNull Consumer<T> query);
 
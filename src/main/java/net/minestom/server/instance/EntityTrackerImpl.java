@@ -4,11 +4,15 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.Viewable;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.Player;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -31,12 +35,27 @@ import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
 final class EntityTrackerImpl implements EntityTracker {
     static final AtomicInteger TARGET_COUNTER = new AtomicInteger();
+    static final boolean SPATIAL_INDEX = PropertyUtils.getBoolean("minestom.entity-tracker.spatial-index", false);
+    // Larger queries are faster using the chunk lists
+    private static final double MAX_INDEXED_RANGE = 32;
+    // Distance between the position of an entity and the furthest point of its bounding box
+    private static final double MAX_ENTITY_EXTENT = 16;
 
     // Store all data associated to a Target
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
     private final ReentrantLock lock = new ReentrantLock();
+    // Null if disabled
+    private final EntitySpatialIndex spatialIndex;
+
+    EntityTrackerImpl(boolean spatialIndex) {
+        this.spatialIndex = spatialIndex ? new EntitySpatialIndex() : null;
+    }
+
+    EntityTrackerImpl() {
+        this(SPATIAL_INDEX);
+    }
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
@@ -44,6 +63,7 @@ final class EntityTrackerImpl implements EntityTracker {
         var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
         if (prevPoint != null) return;
         final long index = getChunkIndex(point);
+        if (spatialIndex != null) spatialIndex.add(entity, point);
 
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
@@ -67,6 +87,7 @@ final class EntityTrackerImpl implements EntityTracker {
         final Point point = entityPositions.remove(entity.getEntityId());
         if (point == null) return;
         final long index = getChunkIndex(point);
+        if (spatialIndex != null) spatialIndex.remove(entity, point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
                 entry.entities.remove(entity);
@@ -86,7 +107,9 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        if (spatialIndex != null) spatialIndex.move(entity, oldPoint, newPoint);
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -150,6 +173,11 @@ final class EntityTrackerImpl implements EntityTracker {
     @Override
     public <T extends Entity> void nearbyEntitiesUntil(@NotNull Point point, double range, @NotNull Target<T> target,
                                                        @NotNull Predicate<T> query) {
+        if (spatialIndex != null && range <= MAX_INDEXED_RANGE) {
+            //noinspection unchecked
+            spatialIndex.nearbyUntil(point, range, target.type(), (Predicate<Entity>) query);
+            return;
+        }
         final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
         final int minChunkX = ChunkUtils.getChunkCoordinate(point.x() - range);
         final int minChunkZ = ChunkUtils.getChunkCoordinate(point.z() - range);
@@ -192,9 +220,104 @@ final class EntityTrackerImpl implements EntityTracker {
         }
     }
 
+    @Override
+    public <T extends Entity> int nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target,
+                                                 @Nullable EntityType type, @NotNull EntityQueryBuffer buffer) {
+        buffer.start(point.x(), point.y(), point.z(), range, -1, target.type(), type, null);
+        collect(point.x() - range, point.y() - range, point.z() - range,
+                point.x() + range, point.y() + range, point.z() + range, target, buffer);
+        return buffer.size();
+    }
+
+    @Override
+    public <T extends Entity> int nearestEntities(@NotNull Point point, double range, int limit, @NotNull Target<T> target,
+                                                  @Nullable EntityType type, @NotNull EntityQueryBuffer buffer) {
+        Check.argCondition(limit < 0, "The limit cannot be negative");
+        buffer.start(point.x(), point.y(), point.z(), range, limit, target.type(), type, null);
+        collect(point.x() - range, point.y() - range, point.z() - range,
+                point.x() + range, point.y() + range, point.z() + range, target, buffer);
+        return buffer.size();
+    }
+
+    @Override
+    public <T extends Entity> int intersectingEntities(@NotNull Point position, @NotNull BoundingBox boundingBox,
+                                                       @NotNull Target<T> target, @Nullable EntityType type,
+                                                       @NotNull EntityQueryBuffer buffer) {
+        buffer.start(position.x(), position.y(), position.z(), 0, -1, target.type(), type, boundingBox);
+        collect(position.x() + boundingBox.minX() - MAX_ENTITY_EXTENT,
+                position.y() + boundingBox.minY() - MAX_ENTITY_EXTENT,
+                position.z() + boundingBox.minZ() - MAX_ENTITY_EXTENT,
+                position.x() + boundingBox.maxX() + MAX_ENTITY_EXTENT,
+                position.y() + boundingBox.maxY() + MAX_ENTITY_EXTENT,
+                position.z() + boundingBox.maxZ() + MAX_ENTITY_EXTENT, target, buffer);
+        return buffer.size();
+    }
+
+    /**
+     * Offers the entities whose position is in or close to a box to a buffer.
+     */
+    private void collect(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                         Target<?> target, EntityQueryBuffer buffer) {
+        if (spatialIndex != null && maxX - minX <= MAX_INDEXED_RANGE * 2 && maxZ - minZ <= MAX_INDEXED_RANGE * 2) {
+            spatialIndex.collect(minX, minY, minZ, maxX, maxY, maxZ, buffer);
+            return;
+        }
+        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        for (int chunkX = getChunkCoordinate(minX); chunkX <= getChunkCoordinate(maxX); chunkX++) {
+            for (int chunkZ = getChunkCoordinate(minZ); chunkZ <= getChunkCoordinate(maxZ); chunkZ++) {
+                final List<Entity> chunkEntities = entities.get(getChunkIndex(chunkX, chunkZ));
+                if (chunkEntities == null || chunkEntities.isEmpty()) continue;
+                for (Entity entity : chunkEntities) {
+                    final Point position = entityPositions.get(entity.getEntityId());
+                    if (position != null) buffer.offer(entity, position.x(), position.y(), position.z());
+                }
+            }
+        }
+    }
+
+    @Override
+    public <T extends Entity> void entitiesInBox(@NotNull Point min, @NotNull Point max, @NotNull Target<T> target,
+                                                 @NotNull Consumer<T> query) {
+        if (spatialIndex != null) {
+            spatialIndex.inBox(min, max, target.type(), entity -> {
+                //noinspection unchecked
+                query.accept((T) entity);
+                return false;
+            });
+            return;
+        }
+        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        final double minX = Math.min(min.x(), max.x()), maxX = Math.max(min.x(), max.x());
+        final double minY = Math.min(min.y(), max.y()), maxY = Math.max(min.y(), max.y());
+        final double minZ = Math.min(min.z(), max.z()), maxZ = Math.max(min.z(), max.z());
+        for (int chunkX = getChunkCoordinate(minX); chunkX <= getChunkCoordinate(maxX); chunkX++) {
+            for (int chunkZ = getChunkCoordinate(minZ); chunkZ <= getChunkCoordinate(maxZ); chunkZ++) {
+                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
+                if (chunkEntities == null || chunkEntities.isEmpty()) continue;
+                for (T entity : chunkEntities) {
+                    final Point position = entityPositions.get(entity.getEntityId());
+                    if (position == null) continue;
+                    if (position.x() >= minX && position.x() <= maxX &&
+                            position.y() >= minY && position.y() <= maxY &&
+                            position.z() >= minZ && position.z() <= maxZ) {
+                        query.accept(entity);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public <T extends Entity> void raytraceCandidates(@NotNull Point start, @NotNull Point end,
                                                       @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        if (spatialIndex != null) {
+            spatialIndex.raytraceCandidates(start, end, target.type(), entity -> {
+                //noinspection unchecked
+                query.accept((T) entity);
+                return false;
+            });
+            return;
+        }
         Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
         if (entities == null || entities.isEmpty()) {
             return;
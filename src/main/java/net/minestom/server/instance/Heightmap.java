@@ -0,0 +1,151 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+/**
+ * Represents the highest blocks of a chunk matching a {@link Type}.
+ * <p>
+ * Heights are packed in a long array using the same layout as the client,
+ * each entry being the number of blocks between the bottom of the chunk and the top of the highest matching block.
+ */
+public final class Heightmap {
+    private final Type type;
+    private final int minY;
+    private final int bitsPerEntry;
+    private final int valuesPerLong;
+    private final long[] data;
+
+    Heightmap(@NotNull Type type, int minY, int height) {
+        this.type = type;
+        this.minY = minY;
+        this.bitsPerEntry = MathUtils.bitsToRepresent(height);
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+        this.data = new long[(Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z + valuesPerLong - 1) / valuesPerLong];
+    }
+
+    public @NotNull Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the y coordinate right above the highest matching block of a column.
+     *
+     * @param x the chunk-relative x coordinate
+     * @param z the chunk-relative z coordinate
+     * @return the first y coordinate above the highest matching block, the chunk minimum y if the column has none
+     */
+    public int getHeight(int x, int z) {
+        return minY + get(x + z * Chunk.CHUNK_SIZE_X);
+    }
+
+    /**
+     * Gets the packed heights, must not be modified.
+     *
+     * @return the packed heights
+     */
+    long[] data() {
+        return data;
+    }
+
+    /**
+     * Recomputes every column from the sections.
+     *
+     * @param sections the chunk sections, from bottom to top
+     */
+    void refresh(@NotNull Section[] sections) {
+        final int top = sections.length * Chunk.CHUNK_SECTION_SIZE - 1;
+        for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                set(x + z * Chunk.CHUNK_SIZE_X, find(sections, x, top, z));
+            }
+        }
+    }
+
+    /**
+     * Updates a column after a block change.
+     *
+     * @param sections the chunk sections, from bottom to top
+     * @param x        the chunk-relative x coordinate
+     * @param y        the absolute y coordinate
+     * @param z        the chunk-relative z coordinate
+     * @param block    the new block
+     * @return true if the heightmap changed
+     */
+    boolean update(@NotNull Section[] sections, int x, int y, int z, @NotNull Block block) {
+        final int index = x + z * Chunk.CHUNK_SIZE_X;
+        final int height = y - minY + 1;
+        final int current = get(index);
+        if (type.test(block)) {
+            if (height <= current) return false;
+            set(index, height);
+            return true;
+        } else if (height == current) {
+            // Highest block removed, look for the next one below
+            set(index, find(sections, x, height - 2, z));
+            return true;
+        }
+        return false;
+    }
+
+    private int find(Section[] sections, int x, int startY, int z) {
+        for (int sectionIndex = startY >> 4; sectionIndex >= 0; sectionIndex--) {
+            final Palette palette = sections[sectionIndex].blockPalette();
+            if (palette.count() == 0) continue; // Only air
+            final int localStart = sectionIndex == startY >> 4 ? startY & 0xF : Chunk.CHUNK_SECTION_SIZE - 1;
+            for (int localY = localStart; localY >= 0; localY--) {
+                final Block block = Block.fromStateId((short) palette.get(x, localY, z));
+                if (block != null && type.test(block)) {
+                    return sectionIndex * Chunk.CHUNK_SECTION_SIZE + localY + 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int get(int index) {
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        return (int) (data[cellIndex] >>> bitIndex & (1L << bitsPerEntry) - 1);
+    }
+
+    private void set(int index, int value) {
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index - cellIndex * valuesPerLong) * bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        this.data[cellIndex] = data[cellIndex] & ~(mask << bitIndex) | ((long) value & mask) << bitIndex;
+    }
+
+    public enum Type {
+        /**
+         * Highest block which blocks motion or contains a fluid.
+         */
+        MOTION_BLOCKING(block -> block.isSolid() || isFluid(block)),
+        /**
+         * Highest non-air block.
+         */
+        WORLD_SURFACE(block -> !block.isAir()),
+        /**
+         * Highest block which blocks motion.
+         */
+        OCEAN_FLOOR(Block::isSolid);
+
+        private final Predicate<Block> predicate;
+
+        Type(Predicate<Block> predicate) {
+            this.predicate = predicate;
+        }
+
+        public boolean test(@NotNull Block block) {
+            return predicate.test(block);
+        }
+
+        private static boolean isFluid(Block block) {
+            return block.isLiquid() || "true".equals(block.getProperty("waterlogged"));
+        }
+    }
+}
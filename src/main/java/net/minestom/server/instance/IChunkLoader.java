@@ -1,14 +1,15 @@
 package net.minestom.server.instance;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.thread.MinestomExecutors;
 import net.minestom.server.utils.async.AsyncUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -60,13 +61,14 @@ public interface IChunkLoader {
      */
     default @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
         if (supportsParallelSaving()) {
-            ExecutorService parallelSavingThreadPool = ForkJoinPool.commonPool();
-            chunks.forEach(c -> parallelSavingThreadPool.execute(() -> saveChunk(c)));
+            final Executor executor = MinestomExecutors.blocking();
+            final CompletableFuture<?>[] futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.runAsync(() -> saveChunk(chunk), executor))
+                    .toArray(CompletableFuture[]::new);
             try {
-                parallelSavingThreadPool.shutdown();
-                parallelSavingThreadPool.awaitTermination(1L, java.util.concurrent.TimeUnit.DAYS);
-            } catch (InterruptedException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
+                CompletableFuture.allOf(futures).join();
+            } catch (CompletionException e) {
+                MinecraftServer.getExceptionManager().handleException(e.getCause());
             }
             return AsyncUtils.VOID_FUTURE;
         } else {
@@ -102,6 +104,29 @@ public interface IChunkLoader {
         return false;
     }
 
+    /**
+     * Gets the executor calling {@link #loadChunk(Instance, int, int)} when {@link #supportsParallelLoading()} is enabled.
+     * <p>
+     * Loaders already reading chunks on their own threads can return a direct executor.
+     *
+     * @return the executor used to load chunks in parallel
+     */
+    default @NotNull Executor loadingExecutor() {
+        return MinestomExecutors.blocking();
+    }
+
+    /**
+     * Called when a player enters a new chunk, allowing the loader to read in advance the chunks it is moving towards.
+     *
+     * @param instance   the instance of the player
+     * @param chunkX     the new chunk X of the player
+     * @param chunkZ     the new chunk Z of the player
+     * @param directionX the chunk X movement, between -1 and 1
+     * @param directionZ the chunk Z movement, between -1 and 1
+     */
+    default void readAhead(@NotNull Instance instance, int chunkX, int chunkZ, int directionX, int directionZ) {
+    }
+
     /**
      * Called when a chunk is unloaded, so that this chunk loader can unload any resource it is holding.
      * Note: Minestom currently has no way to determine whether the chunk comes from this loader, so you may get
@@ -7,6 +7,7 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerProcess;
 import net.minestom.server.Tickable;
 import net.minestom.server.adventure.audience.PacketGroupingAudience;
+import net.minestom.server.collision.EntityCollision;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityCreature;
@@ -82,6 +83,7 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     private long lastTickAge = System.currentTimeMillis();
 
     private final EntityTracker entityTracker = new EntityTrackerImpl();
+    private final EntityCollision entityCollision = new EntityCollision();
 
     private final ChunkCache blockRetriever = new ChunkCache(this, null, null);
 
@@ -526,6 +528,19 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         return result;
     }
 
+    /**
+     * Gets nearby entities to the given position without allocating a collection.
+     *
+     * @param point  position to look at
+     * @param range  max range from the given point to collect entities at
+     * @param buffer the buffer receiving the entities, reused across calls
+     * @return the number of entities found
+     */
+    @ApiStatus.Experimental
+    public int getNearbyEntities(@NotNull Point point, double range, @NotNull EntityQueryBuffer buffer) {
+        return entityTracker.nearbyEntities(point, range, EntityTracker.Target.ENTITIES, null, buffer);
+    }
+
     @Override
     public @Nullable Block getBlock(int x, int y, int z, @NotNull Condition condition) {
         final Block block = blockRetriever.getBlock(x, y, z, condition);
@@ -574,6 +589,11 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         return entityTracker;
     }
 
+    @ApiStatus.Internal
+    public @NotNull EntityCollision entityCollision() {
+        return entityCollision;
+    }
+
     /**
      * Gets the instance unique id.
      *
@@ -587,6 +607,9 @@ public abstract class Instance implements Block.Getter, Block.Setter,
      * Performs a single tick in the instance, including scheduled tasks from {@link #scheduleNextTick(Consumer)}.
      * <p>
      * Warning: this does not update chunks and entities.
+     * <p>
+     * With {@code minestom.parallel-instance-tick} enabled, the ticks of different instances
+     * (including their tasks and {@link InstanceTickEvent}) run concurrently on the tick threads.
      *
      * @param time the tick time in milliseconds
      */
@@ -613,6 +636,8 @@ public abstract class Instance implements Block.Getter, Block.Setter,
             this.lastTickAge = time;
         }
         this.worldBorder.update();
+        // Entities pushing each other, applied when they are ticked
+        this.entityCollision.tick();
     }
 
     @Override
@@ -22,6 +22,7 @@ import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
+import net.minestom.server.thread.MinestomExecutors;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
 import net.minestom.server.utils.block.BlockUtils;
@@ -40,7 +41,6 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -287,6 +287,7 @@ public class InstanceContainer extends Instance {
                 .thenAccept(chunk -> {
                     // TODO run in the instance thread?
                     cacheChunk(chunk);
+                    LightEngine.onLoad(chunk);
                     EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
                     final CompletableFuture<Chunk> future = this.loadingChunks.remove(index);
                     assert future == completableFuture : "Invalid future: " + future;
@@ -297,7 +298,7 @@ public class InstanceContainer extends Instance {
                     return null;
                 });
         if (loader.supportsParallelLoading()) {
-            CompletableFuture.runAsync(retriever);
+            loader.loadingExecutor().execute(retriever);
         } else {
             retriever.run();
         }
@@ -312,12 +313,13 @@ public class InstanceContainer extends Instance {
         Generator generator = generator();
         if (generator != null && chunk.shouldGenerate()) {
             CompletableFuture<Chunk> resultFuture = new CompletableFuture<>();
-            // TODO: virtual thread once Loom is available
-            ForkJoinPool.commonPool().submit(() -> {
+            MinestomExecutors.compute().submit(() -> {
                 var chunkUnit = GeneratorImpl.chunk(chunk);
                 try {
                     // Generate block/biome palette
                     generator.generate(chunkUnit);
+                    // Palettes have been modified directly
+                    if (chunk instanceof DynamicChunk dynamicChunk) dynamicChunk.invalidate();
                     // Apply nbt/handler
                     if (chunkUnit.modifier() instanceof GeneratorImpl.AreaModifierImpl chunkModifier) {
                         for (var section : chunkModifier.sections()) {
@@ -339,8 +341,7 @@ public class InstanceContainer extends Instance {
                                     applyFork(forkChunk, sectionModifier);
                                     // Update players
                                     if (forkChunk instanceof DynamicChunk dynamicChunk) {
-                                        dynamicChunk.chunkCache.invalidate();
-                                        dynamicChunk.lightCache.invalidate();
+                                        dynamicChunk.invalidate();
                                     }
                                     forkChunk.sendChunk();
                                 } else {
@@ -390,6 +391,7 @@ public class InstanceContainer extends Instance {
             // -1 is necessary because forked units handle explicit changes by changing AIR 0 to 1
             sectionModifier.blockPalette().getAllPresent((x, y, z, value) -> currentBlocks.set(x, y, z, value - 1));
             applyGenerationData(chunk, sectionModifier);
+            if (chunk instanceof DynamicChunk dynamicChunk) dynamicChunk.invalidate();
         }
     }
 
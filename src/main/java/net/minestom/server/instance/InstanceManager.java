@@ -139,6 +139,7 @@ public final class InstanceManager {
                 instance.getChunks().forEach(instance::unloadChunk);
                 var dispatcher = MinecraftServer.process().dispatcher();
                 instance.getChunks().forEach(dispatcher::deletePartition);
+                ChunkPacketCache.invalidate(instance);
             }
         }
     }
@@ -0,0 +1,114 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.DimensionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Immutable copy of the chunks of an instance, used to create many instances with the same world (e.g. minigame maps).
+ * <p>
+ * Chunks are created from the template when the instance loads them. Their sections share the palettes of the template
+ * until modified, the memory used by each instance therefore depends on its modifications instead of the map size.
+ * Chunk packets are shared between the instances as long as the chunk has not been modified.
+ * <p>
+ * Changes are not saved, the template is never modified.
+ */
+public final class InstanceTemplate implements IChunkLoader {
+    private final UUID uniqueId = UUID.randomUUID();
+    private final DimensionType dimensionType;
+    private final Long2ObjectMap<ChunkTemplate> chunks;
+
+    private record ChunkTemplate(Section[] sections, Int2ObjectMap<Block> entries, long revision) {
+    }
+
+    private InstanceTemplate(DimensionType dimensionType, Long2ObjectMap<ChunkTemplate> chunks) {
+        this.dimensionType = dimensionType;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Creates a template from the loaded chunks of an instance.
+     * <p>
+     * Later modifications of the instance are not part of the template.
+     *
+     * @param instance the instance to copy
+     * @return a new template
+     */
+    public static @NotNull InstanceTemplate of(@NotNull Instance instance) {
+        Long2ObjectMap<ChunkTemplate> chunks = new Long2ObjectOpenHashMap<>();
+        for (Chunk chunk : instance.getChunks()) {
+            final Section[] sections;
+            final Int2ObjectMap<Block> entries;
+            synchronized (chunk) {
+                sections = chunk.sectionCopy();
+                entries = new Int2ObjectOpenHashMap<>(chunk.getEntries());
+            }
+            // Encoded once, the copies share the result until modified
+            for (Section section : sections) section.encoded();
+            chunks.put(ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()),
+                    new ChunkTemplate(sections, entries, ChunkPacketCache.nextRevision()));
+        }
+        return new InstanceTemplate(instance.getDimensionType(), chunks);
+    }
+
+    /**
+     * Creates a new instance using this template as its chunk loader.
+     * <p>
+     * The instance still needs to be registered using {@link InstanceManager#registerInstance(Instance)}.
+     *
+     * @return a new instance with the world of this template
+     */
+    public @NotNull InstanceContainer createInstance() {
+        return new InstanceContainer(UUID.randomUUID(), dimensionType, this);
+    }
+
+    /**
+     * Gets the dimension type of the copied instance.
+     *
+     * @return the dimension type
+     */
+    public @NotNull DimensionType getDimensionType() {
+        return dimensionType;
+    }
+
+    /**
+     * Gets the number of chunks in this template.
+     *
+     * @return the number of chunks
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final ChunkTemplate template = chunks.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        if (template == null) return CompletableFuture.completedFuture(null);
+        final Section[] templateSections = template.sections();
+        final int sectionCount = instance.getDimensionType().getHeight() / Chunk.CHUNK_SECTION_SIZE;
+        if (sectionCount != templateSections.length) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("The instance height does not match the template"));
+        }
+        Section[] sections = new Section[templateSections.length];
+        for (int i = 0; i < sections.length; i++) sections[i] = templateSections[i].clone();
+        DynamicChunk chunk = new DynamicChunk(instance, chunkX, chunkZ, sections, template.entries());
+        chunk.shareRevision(uniqueId, template.revision());
+        return CompletableFuture.completedFuture(chunk);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        // Templates are immutable
+        return AsyncUtils.VOID_FUTURE;
+    }
+}
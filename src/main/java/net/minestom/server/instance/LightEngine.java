@@ -0,0 +1,414 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.PropertyUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes block and sky light of {@link DynamicChunk dynamic chunks} using a breadth-first propagation over the palettes.
+ * <p>
+ * Chunks are relit on a dedicated pool, the palettes are read under the chunk lock
+ * and the propagation itself runs without holding it, allowing chunks to be computed in parallel.
+ * Light crossing chunk borders is taken from the loaded neighbours, which are relit when a shared border changes.
+ * <p>
+ * Updates are not incremental: a block change recomputes the whole column from scratch.
+ * Neighbour light which may have come from the column itself is not taken back when it was brighter before,
+ * the neighbour is relit first and the column again afterward, so that removed light does not bounce between columns.
+ * Neighbours re-trigger each other at most {@value #MAX_NEIGHBOUR_ROUNDS} times per change.
+ * <p>
+ * Blocks placed before the chunk is registered in its instance (e.g. by a loader) do not trigger any update,
+ * the chunk is lit once loaded if it does not contain any light.
+ * <p>
+ * Automatic lighting of generated chunks and block changes is disabled by default,
+ * enabled using the {@code minestom.light-engine} property.
+ */
+@ApiStatus.Experimental
+public final class LightEngine {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.light-engine", false);
+    private static final int THREAD_COUNT = Integer.getInteger("minestom.light-threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    private static final int SECTION_VOLUME = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SIZE_Z;
+    private static final int LIGHT_ARRAY_SIZE = SECTION_VOLUME / 2;
+    private static final byte[] EMPTY = new byte[0];
+    private static final int MAX_NEIGHBOUR_ROUNDS = 8;
+
+    // Lazily computed light properties, indexed by block state id
+    private static final int[] STATE_PROPERTIES = new int[Short.MAX_VALUE + 1];
+
+    // Chunks waiting to be relit, and those currently computed
+    private static final Map<Chunk, Request> PENDING = new ConcurrentHashMap<>();
+    private static final Map<Chunk, CompletableFuture<Void>> RUNNING = new ConcurrentHashMap<>();
+
+    private LightEngine() {
+    }
+
+    /**
+     * Gets the executor computing the light.
+     *
+     * @return the light executor
+     */
+    public static @NotNull Executor executor() {
+        return Pool.EXECUTOR;
+    }
+
+    /**
+     * Schedules the light computation of a chunk.
+     * <p>
+     * Calls made before the computation starts are merged,
+     * and a chunk is never computed by two threads at once.
+     *
+     * @param chunk the chunk to relight
+     * @return a future completed once the light of the chunk has been updated
+     */
+    public static @NotNull CompletableFuture<Void> relight(@NotNull DynamicChunk chunk) {
+        return relight(chunk, 0);
+    }
+
+    /**
+     * Schedules a relight, merged requests keep the lowest round.
+     *
+     * @param round the number of neighbour relights which led to this one
+     */
+    private static CompletableFuture<Void> relight(DynamicChunk chunk, int round) {
+        while (true) {
+            final Request pending = PENDING.get(chunk);
+            if (pending != null) {
+                pending.round.accumulateAndGet(round, Math::min);
+                return pending.future;
+            }
+            final Request request = new Request(round);
+            if (PENDING.putIfAbsent(chunk, request) == null) {
+                final Runnable task = () -> run(chunk, request);
+                final CompletableFuture<Void> running = RUNNING.get(chunk);
+                if (running == null) {
+                    executor().execute(task);
+                } else {
+                    running.whenComplete((unused, throwable) -> executor().execute(task));
+                }
+                return request.future;
+            }
+        }
+    }
+
+    private static void run(DynamicChunk chunk, Request request) {
+        final CompletableFuture<Void> future = request.future;
+        // Must be marked as running before accepting new requests
+        RUNNING.put(chunk, future);
+        PENDING.remove(chunk, request);
+        try {
+            compute(chunk, request.round.get());
+        } catch (Throwable e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        } finally {
+            RUNNING.remove(chunk, future);
+            future.complete(null);
+        }
+    }
+
+    static void onLoad(@NotNull Chunk chunk) {
+        if (!ENABLED || !(chunk instanceof DynamicChunk dynamicChunk)) return;
+        // Chunks loaded with their light (e.g. anvil) are kept as is
+        for (Section section : chunk.getSections()) {
+            if (section.getSkyLight().length != 0 || section.getBlockLight().length != 0) return;
+        }
+        relight(dynamicChunk);
+    }
+
+    static void onBlockChange(@NotNull DynamicChunk chunk) {
+        if (!ENABLED) return;
+        // Chunks being filled are lit once loaded, and would otherwise overwrite their stored light
+        if (chunk.getInstance().getChunk(chunk.getChunkX(), chunk.getChunkZ()) != chunk) return;
+        relight(chunk);
+    }
+
+    private static void compute(DynamicChunk chunk, int round) {
+        final Instance instance = chunk.getInstance();
+        final boolean skylight = instance.getDimensionType().isSkylightEnabled();
+        final int sectionCount = chunk.getMaxSection() - chunk.getMinSection();
+        final int volume = sectionCount * SECTION_VOLUME;
+        final byte[] opacity = new byte[volume];
+        final byte[] emission = new byte[volume];
+        final byte[][] previousSky = new byte[sectionCount][];
+        final byte[][] previousBlock = new byte[sectionCount][];
+        boolean emitting = false;
+        synchronized (chunk) {
+            for (int sectionIndex = 0; sectionIndex < sectionCount; sectionIndex++) {
+                final Section section = chunk.getSection(sectionIndex + chunk.getMinSection());
+                previousSky[sectionIndex] = section.getSkyLight();
+                previousBlock[sectionIndex] = section.getBlockLight();
+                final Palette palette = section.blockPalette();
+                if (palette.count() == 0) continue; // Only air
+                final int offset = sectionIndex * SECTION_VOLUME;
+                palette.getAll((x, y, z, value) -> {
+                    final int properties = stateProperties(value);
+                    final int index = offset + cellIndex(x, y, z);
+                    opacity[index] = (byte) (properties >> 4 & 0xF);
+                    emission[index] = (byte) (properties & 0xF);
+                });
+            }
+        }
+        for (byte value : emission) {
+            if (value != 0) {
+                emitting = true;
+                break;
+            }
+        }
+
+        final Chunk[] neighbours = {
+                instance.getChunk(chunk.getChunkX() - 1, chunk.getChunkZ()),
+                instance.getChunk(chunk.getChunkX() + 1, chunk.getChunkZ()),
+                instance.getChunk(chunk.getChunkX(), chunk.getChunkZ() - 1),
+                instance.getChunk(chunk.getChunkX(), chunk.getChunkZ() + 1)
+        };
+        IntArrayFIFOQueue queue = new IntArrayFIFOQueue();
+
+        // Block light
+        byte[] blockLevels = new byte[volume];
+        if (emitting) {
+            for (int index = 0; index < volume; index++) {
+                final byte level = emission[index];
+                if (level > 0) {
+                    blockLevels[index] = level;
+                    queue.enqueue(index);
+                }
+            }
+        }
+        seedBorders(blockLevels, opacity, neighbours, previousBlock, false, queue);
+        propagate(blockLevels, opacity, queue);
+        int skipped = skippedBorders(blockLevels, opacity, neighbours, previousBlock, false);
+
+        // Sky light
+        byte[] skyLevels = null;
+        if (skylight) {
+            skyLevels = new byte[volume];
+            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                    // Full light goes down until reaching an opaque block
+                    int level = 15;
+                    for (int y = sectionCount * Chunk.CHUNK_SECTION_SIZE - 1; y >= 0; y--) {
+                        final int index = cellIndex(x, y, z);
+                        level -= opacity[index];
+                        if (level <= 0) break;
+                        skyLevels[index] = (byte) level;
+                        if (level > 1) queue.enqueue(index);
+                    }
+                }
+            }
+            seedBorders(skyLevels, opacity, neighbours, previousSky, true, queue);
+            propagate(skyLevels, opacity, queue);
+            skipped |= skippedBorders(skyLevels, opacity, neighbours, previousSky, true);
+        }
+
+        final byte[][] skyLight = new byte[sectionCount][];
+        final byte[][] blockLight = new byte[sectionCount][];
+        for (int sectionIndex = 0; sectionIndex < sectionCount; sectionIndex++) {
+            skyLight[sectionIndex] = skyLevels != null ? pack(skyLevels, sectionIndex) : EMPTY;
+            blockLight[sectionIndex] = pack(blockLevels, sectionIndex);
+        }
+        chunk.applyLight(skyLight, blockLight);
+
+        // Relight the neighbours sharing a modified border
+        if (round + 1 >= MAX_NEIGHBOUR_ROUNDS) return;
+        for (int direction = 0; direction < neighbours.length; direction++) {
+            if (!(neighbours[direction] instanceof DynamicChunk neighbour) || !neighbour.isLoaded()) continue;
+            if ((skipped >> direction & 1) != 0) {
+                // The neighbour light has been ignored, take it once updated with the new border
+                relight(neighbour, round + 1).thenRun(() -> relight(chunk, round + 1));
+            } else if (!borderEquals(previousSky, skyLight, direction) || !borderEquals(previousBlock, blockLight, direction)) {
+                relight(neighbour, round + 1);
+            }
+        }
+    }
+
+    private static void propagate(byte[] levels, byte[] opacity, IntArrayFIFOQueue queue) {
+        final int volume = levels.length;
+        while (!queue.isEmpty()) {
+            final int index = queue.dequeueInt();
+            final int level = levels[index];
+            if (level <= 1) continue;
+            final int x = index & 0xF;
+            final int z = index >> 4 & 0xF;
+            if (x > 0) spread(levels, opacity, queue, index - 1, level);
+            if (x < 15) spread(levels, opacity, queue, index + 1, level);
+            if (z > 0) spread(levels, opacity, queue, index - 16, level);
+            if (z < 15) spread(levels, opacity, queue, index + 16, level);
+            if (index >= 256) spread(levels, opacity, queue, index - 256, level);
+            if (index + 256 < volume) spread(levels, opacity, queue, index + 256, level);
+        }
+    }
+
+    private static void spread(byte[] levels, byte[] opacity, IntArrayFIFOQueue queue, int index, int level) {
+        final int newLevel = level - Math.max(1, opacity[index]);
+        if (newLevel > levels[index]) {
+            levels[index] = (byte) newLevel;
+            queue.enqueue(index);
+        }
+    }
+
+    /**
+     * Seeds the light entering from the neighbours.
+     * <p>
+     * Light coming from this chunk is always dimmer on the other side of the border,
+     * neighbour levels dimmer than the previous level of the adjacent cell may be outdated and are skipped.
+     */
+    private static void seedBorders(byte[] levels, byte[] opacity, Chunk[] neighbours, byte[][] previous,
+                                    boolean sky, IntArrayFIFOQueue queue) {
+        for (int direction = 0; direction < neighbours.length; direction++) {
+            final Chunk neighbour = neighbours[direction];
+            if (neighbour == null || !neighbour.isLoaded()) continue;
+            for (int sectionIndex = 0; sectionIndex < previous.length; sectionIndex++) {
+                final Section section = neighbour.getSection(sectionIndex + neighbour.getMinSection());
+                final byte[] light = sky ? section.getSkyLight() : section.getBlockLight();
+                if (light.length == 0) continue;
+                final byte[] previousLight = previous[sectionIndex];
+                for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                    for (int i = 0; i < 16; i++) {
+                        final int neighbourLevel = get(light, borderIndex(direction ^ 1, i, y));
+                        if (neighbourLevel <= 1) continue;
+                        final int borderIndex = borderIndex(direction, i, y);
+                        if (neighbourLevel < get(previousLight, borderIndex)) continue;
+                        final int index = sectionIndex * SECTION_VOLUME + borderIndex;
+                        final int level = neighbourLevel - Math.max(1, opacity[index]);
+                        if (level > levels[index]) {
+                            levels[index] = (byte) level;
+                            queue.enqueue(index);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the borders where a level skipped by {@link #seedBorders} would have brightened the computed light.
+     *
+     * @return a bit set of the directions
+     */
+    private static int skippedBorders(byte[] levels, byte[] opacity, Chunk[] neighbours, byte[][] previous, boolean sky) {
+        int result = 0;
+        for (int direction = 0; direction < neighbours.length; direction++) {
+            final Chunk neighbour = neighbours[direction];
+            if (neighbour == null || !neighbour.isLoaded()) continue;
+            if (skippedBorder(levels, opacity, neighbour, direction, previous, sky)) result |= 1 << direction;
+        }
+        return result;
+    }
+
+    private static boolean skippedBorder(byte[] levels, byte[] opacity, Chunk neighbour, int direction,
+                                         byte[][] previous, boolean sky) {
+        for (int sectionIndex = 0; sectionIndex < previous.length; sectionIndex++) {
+            final Section section = neighbour.getSection(sectionIndex + neighbour.getMinSection());
+            final byte[] light = sky ? section.getSkyLight() : section.getBlockLight();
+            final byte[] previousLight = previous[sectionIndex];
+            if (light.length == 0 || previousLight.length == 0) continue;
+            for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                for (int i = 0; i < 16; i++) {
+                    final int neighbourLevel = get(light, borderIndex(direction ^ 1, i, y));
+                    final int borderIndex = borderIndex(direction, i, y);
+                    if (neighbourLevel <= 1 || neighbourLevel >= get(previousLight, borderIndex)) continue;
+                    final int index = sectionIndex * SECTION_VOLUME + borderIndex;
+                    if (neighbourLevel - Math.max(1, opacity[index]) > levels[index]) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean borderEquals(byte[][] previous, byte[][] current, int direction) {
+        for (int sectionIndex = 0; sectionIndex < current.length; sectionIndex++) {
+            final byte[] previousLight = previous[sectionIndex];
+            final byte[] currentLight = current[sectionIndex];
+            if (previousLight.length == 0 && currentLight.length == 0) continue;
+            for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                for (int i = 0; i < 16; i++) {
+                    final int index = borderIndex(direction, i, y);
+                    if (get(previousLight, index) != get(currentLight, index)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the index of a cell touching a chunk border.
+     *
+     * @param direction 0 for -x, 1 for +x, 2 for -z, 3 for +z
+     * @param i         the position along the border
+     * @param y         the section-relative y coordinate
+     * @return the section cell index
+     */
+    private static int borderIndex(int direction, int i, int y) {
+        return switch (direction) {
+            case 0 -> cellIndex(0, y, i);
+            case 1 -> cellIndex(15, y, i);
+            case 2 -> cellIndex(i, y, 0);
+            case 3 -> cellIndex(i, y, 15);
+            default -> throw new IllegalArgumentException("Invalid direction " + direction);
+        };
+    }
+
+    private static int cellIndex(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    private static int get(byte[] light, int index) {
+        if (light.length == 0) return 0;
+        final int value = light[index >> 1];
+        return (index & 1) == 0 ? value & 0xF : value >> 4 & 0xF;
+    }
+
+    private static byte[] pack(byte[] levels, int sectionIndex) {
+        final int offset = sectionIndex * SECTION_VOLUME;
+        byte[] light = null;
+        for (int i = 0; i < SECTION_VOLUME; i += 2) {
+            final int value = levels[offset + i] | levels[offset + i + 1] << 4;
+            if (value == 0) continue;
+            if (light == null) light = new byte[LIGHT_ARRAY_SIZE];
+            light[i >> 1] = (byte) value;
+        }
+        return light != null ? light : EMPTY;
+    }
+
+    private static int stateProperties(int stateId) {
+        int properties = STATE_PROPERTIES[stateId];
+        if (properties == 0) {
+            final Block block = Block.fromStateId((short) stateId);
+            int opacity = 0, emission = 0;
+            if (block != null) {
+                emission = Math.min(15, block.registry().lightEmission());
+                if (block.registry().occludes()) {
+                    opacity = 15;
+                } else if (block.isLiquid() || "true".equals(block.getProperty("waterlogged"))) {
+                    opacity = 1;
+                }
+            }
+            properties = 1 << 8 | opacity << 4 | emission;
+            STATE_PROPERTIES[stateId] = properties;
+        }
+        return properties;
+    }
+
+    private record Request(CompletableFuture<Void> future, AtomicInteger round) {
+        Request(int round) {
+            this(new CompletableFuture<>(), new AtomicInteger(round));
+        }
+    }
+
+    private static final class Pool {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "Ms-light-" + COUNTER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,462 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkSupplier;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static net.minestom.server.network.NetworkBuffer.*;
+
+/**
+ * Chunk loader storing a whole world in a single file, designed to be loaded as fast as possible.
+ * <p>
+ * Sections are stored in the palette network format, loading them only copies the palette arrays
+ * instead of converting every block. The file is read in a single call and its index is parsed once,
+ * chunks are then decoded straight from the buffer and can be loaded in parallel.
+ * The file is not memory mapped, as a mapped file cannot be replaced on some platforms (Windows).
+ * <p>
+ * This is a bulk snapshot format, meant for worlds loaded far more often than saved (e.g. minigame maps, lobbies).
+ * Every save rewrites the whole file, saving a single chunk costs as much as saving the entire world:
+ * save all the modified chunks at once using {@link #saveChunks(Collection)},
+ * and prefer {@link AnvilLoader} for worlds saved incrementally (e.g. autosave of player-modified terrain).
+ * Chunks not part of a save keep their previous data.
+ * Existing worlds can be converted using {@link #importAnvil(Instance, Path)}.
+ */
+public class NativeWorldLoader implements IChunkLoader {
+    private final static Logger LOGGER = LoggerFactory.getLogger(NativeWorldLoader.class);
+    private static final int MAGIC = 0x4D4E5744; // MNWD
+    private static final short VERSION = 1;
+    private static final Pattern REGION_PATTERN = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    public enum Compression {
+        NONE, DEFLATE
+    }
+
+    private final Path path;
+    private final Compression compression;
+    private ChunkSupplier chunkSupplier;
+
+    // Current content of the file, replaced after each save
+    private volatile World world;
+
+    private record World(@NotNull ByteBuffer data, int minSection, int maxSection,
+                         @Nullable NBTCompound instanceData, @NotNull Long2ObjectMap<Entry> entries) {
+    }
+
+    /**
+     * Location of a chunk in the data part of the file.
+     *
+     * @param rawLength the length of the chunk once decompressed
+     */
+    private record Entry(int offset, int length, int rawLength) {
+    }
+
+    public NativeWorldLoader(@NotNull Path path, @NotNull Compression compression) {
+        this.path = path;
+        this.compression = compression;
+        this.chunkSupplier = DynamicChunk::new;
+    }
+
+    public NativeWorldLoader(@NotNull Path path) {
+        this(path, Compression.NONE);
+    }
+
+    @Override
+    public void loadInstance(@NotNull Instance instance) {
+        try {
+            final World world = world();
+            if (world != null && world.instanceData() != null) {
+                instance.tagHandler().updateContent(world.instanceData());
+            }
+        } catch (IOException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        try {
+            final World world = world();
+            if (world == null) return CompletableFuture.completedFuture(null);
+            final Entry entry = world.entries().get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+            if (entry == null) return CompletableFuture.completedFuture(null);
+            if (world.minSection() != instance.getDimensionType().getMinY() / Chunk.CHUNK_SECTION_SIZE ||
+                    world.maxSection() != instance.getDimensionType().getMaxY() / Chunk.CHUNK_SECTION_SIZE) {
+                throw new IllegalStateException(String.format("World sections (%d to %d) do not match the dimension type %s",
+                        world.minSection(), world.maxSection(), instance.getDimensionType().getName().asString()));
+            }
+            return CompletableFuture.completedFuture(readChunk(instance, chunkX, chunkZ, chunkData(world, entry)));
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveInstance(@NotNull Instance instance) {
+        final NBTCompound nbt = instance.tagHandler().asCompound();
+        synchronized (this) {
+            try {
+                final World world = world();
+                if (world == null && nbt.isEmpty()) return AsyncUtils.VOID_FUTURE;
+                final int minSection = instance.getDimensionType().getMinY() / Chunk.CHUNK_SECTION_SIZE;
+                final int maxSection = instance.getDimensionType().getMaxY() / Chunk.CHUNK_SECTION_SIZE;
+                write(minSection, maxSection, nbt.isEmpty() ? null : nbt, new Long2ObjectOpenHashMap<>());
+            } catch (IOException e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    /**
+     * Saves a single chunk, the whole file is rewritten.
+     * This costs as much as saving every chunk of the world, prefer {@link #saveChunks(Collection)} to save multiple chunks.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return saveChunks(List.of(chunk));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        if (chunks.isEmpty()) return AsyncUtils.VOID_FUTURE;
+        final Chunk first = chunks.iterator().next();
+        Long2ObjectMap<byte[]> encoded = new Long2ObjectOpenHashMap<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            encoded.put(ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ()), writeChunk(chunk));
+        }
+        synchronized (this) {
+            try {
+                final World world = world();
+                write(first.getMinSection(), first.getMaxSection(),
+                        world != null ? world.instanceData() : null, encoded);
+            } catch (IOException e) {
+                LOGGER.error("Failed to save world " + path, e);
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    /**
+     * Converts the chunks of an Anvil world, adding them to this world.
+     * <p>
+     * Chunks are read one region at a time and written once at the end.
+     *
+     * @param instance    the instance used to load the Anvil chunks, its dimension type must match the world
+     * @param anvilFolder the folder of the Anvil world, containing the {@code region} folder
+     * @return the number of converted chunks
+     * @throws IOException if a file cannot be read or written
+     */
+    public int importAnvil(@NotNull Instance instance, @NotNull Path anvilFolder) throws IOException {
+        final Path regionFolder = anvilFolder.resolve("region");
+        if (!Files.isDirectory(regionFolder)) return 0;
+        AnvilLoader anvilLoader = new AnvilLoader(anvilFolder) {
+            @Override
+            public boolean supportsParallelLoading() {
+                return false;
+            }
+        };
+        anvilLoader.setChunkSupplier(chunkSupplier);
+        Long2ObjectMap<byte[]> encoded = new Long2ObjectOpenHashMap<>();
+        try (var files = Files.list(regionFolder)) {
+            for (Path regionFile : (Iterable<Path>) files::iterator) {
+                final Matcher matcher = REGION_PATTERN.matcher(regionFile.getFileName().toString());
+                if (!matcher.matches()) continue;
+                final int regionX = Integer.parseInt(matcher.group(1));
+                final int regionZ = Integer.parseInt(matcher.group(2));
+                for (int x = 0; x < 32; x++) {
+                    for (int z = 0; z < 32; z++) {
+                        final int chunkX = regionX * 32 + x;
+                        final int chunkZ = regionZ * 32 + z;
+                        final Chunk chunk = anvilLoader.loadChunk(instance, chunkX, chunkZ).join();
+                        if (chunk == null) continue;
+                        encoded.put(ChunkUtils.getChunkIndex(chunkX, chunkZ), writeChunk(chunk));
+                        anvilLoader.unloadChunk(chunk);
+                    }
+                }
+            }
+        }
+        synchronized (this) {
+            final World world = world();
+            write(instance.getDimensionType().getMinY() / Chunk.CHUNK_SECTION_SIZE,
+                    instance.getDimensionType().getMaxY() / Chunk.CHUNK_SECTION_SIZE,
+                    world != null ? world.instanceData() : null, encoded);
+        }
+        return encoded.size();
+    }
+
+    /**
+     * Gets the current content of the file, read on first access.
+     *
+     * @return the world, null if the file does not exist
+     */
+    private @Nullable World world() throws IOException {
+        World world = this.world;
+        if (world != null) return world;
+        synchronized (this) {
+            world = this.world;
+            if (world != null || !Files.exists(path)) return world;
+            world = readWorld(ByteBuffer.wrap(Files.readAllBytes(path)));
+            this.world = world;
+            return world;
+        }
+    }
+
+    private static World readWorld(ByteBuffer data) throws IOException {
+        NetworkBuffer reader = new NetworkBuffer(data.duplicate(), false);
+        reader.writeIndex(data.capacity());
+        if (reader.read(INT) != MAGIC) throw new IOException("Not a native world file");
+        final short version = reader.read(SHORT);
+        if (version != VERSION) throw new IOException("Unsupported native world version " + version);
+        final int minSection = reader.read(INT);
+        final int maxSection = reader.read(INT);
+        final NBTCompound instanceData = reader.read(BOOLEAN) ? (NBTCompound) reader.read(NBT) : null;
+        final int count = reader.read(INT);
+        Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>(count);
+        // Chunk offsets are relative to the end of the index
+        final int indexEnd = reader.readIndex() + count * (Long.BYTES + Integer.BYTES * 3);
+        for (int i = 0; i < count; i++) {
+            final long index = reader.read(LONG);
+            final int offset = reader.read(INT);
+            final int length = reader.read(INT);
+            final int rawLength = reader.read(INT);
+            entries.put(index, new Entry(indexEnd + offset, length, rawLength));
+        }
+        return new World(data, minSection, maxSection, instanceData, entries);
+    }
+
+    /**
+     * Writes the file with the given chunks, merged with the chunks already in the file.
+     * Must be called while holding the loader lock.
+     */
+    private void write(int minSection, int maxSection, @Nullable NBTCompound instanceData,
+                       Long2ObjectMap<byte[]> chunks) throws IOException {
+        final World previous = world();
+        record Data(long index, byte[] bytes, int rawLength) {
+        }
+        List<Data> content = new ArrayList<>(chunks.size());
+        for (Long2ObjectMap.Entry<byte[]> chunk : chunks.long2ObjectEntrySet()) {
+            final byte[] raw = chunk.getValue();
+            content.add(new Data(chunk.getLongKey(), compress(raw), raw.length));
+        }
+        if (previous != null) {
+            if (previous.minSection() != minSection || previous.maxSection() != maxSection) {
+                throw new IOException("Cannot save chunks with a different height than the existing world");
+            }
+            // Unchanged chunks are copied as-is
+            for (Long2ObjectMap.Entry<Entry> entry : previous.entries().long2ObjectEntrySet()) {
+                if (chunks.containsKey(entry.getLongKey())) continue;
+                final Entry location = entry.getValue();
+                byte[] bytes = new byte[location.length()];
+                previous.data().get(location.offset(), bytes);
+                if (location.length() != location.rawLength() && compression == Compression.NONE) {
+                    try {
+                        bytes = decompress(bytes, location.rawLength());
+                    } catch (DataFormatException e) {
+                        throw new IOException("Invalid chunk data in " + path, e);
+                    }
+                }
+                content.add(new Data(entry.getLongKey(), bytes, location.rawLength()));
+            }
+        }
+
+        final byte[] header = NetworkBuffer.makeArray(writer -> {
+            writer.write(INT, MAGIC);
+            writer.write(SHORT, VERSION);
+            writer.write(INT, minSection);
+            writer.write(INT, maxSection);
+            writer.write(BOOLEAN, instanceData != null);
+            if (instanceData != null) writer.write(NBT, instanceData);
+            writer.write(INT, content.size());
+            int offset = 0;
+            for (Data data : content) {
+                writer.write(LONG, data.index());
+                writer.write(INT, offset);
+                writer.write(INT, data.bytes().length);
+                writer.write(INT, data.rawLength());
+                offset += data.bytes().length;
+            }
+        });
+
+        // Written next to the current file, then moved in place
+        final Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = new ByteBuffer[content.size() + 1];
+            buffers[0] = ByteBuffer.wrap(header);
+            for (int i = 0; i < content.size(); i++) buffers[i + 1] = ByteBuffer.wrap(content.get(i).bytes());
+            long remaining = header.length;
+            for (Data data : content) remaining += data.bytes().length;
+            while (remaining > 0) remaining -= channel.write(buffers);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.world = null;
+    }
+
+    private byte[] writeChunk(Chunk chunk) {
+        // Palettes are copy-on-write, the lock is only held while taking the snapshot
+        final Section[] sections;
+        final Int2ObjectMap<Block> entries;
+        synchronized (chunk) {
+            sections = chunk.sectionCopy();
+            entries = new Int2ObjectOpenHashMap<>(chunk.getEntries());
+        }
+        return NetworkBuffer.makeArray(writer -> {
+            for (Section section : sections) {
+                writer.write(section.blockPalette());
+                writer.write(section.biomePalette());
+                writer.write(BYTE_ARRAY, section.getSkyLight());
+                writer.write(BYTE_ARRAY, section.getBlockLight());
+            }
+            // Block states are part of the palettes, only handlers and nbt are stored
+            writer.write(VAR_INT, entries.size());
+            for (Int2ObjectMap.Entry<Block> entry : entries.int2ObjectEntrySet()) {
+                final Block block = entry.getValue();
+                final BlockHandler handler = block.handler();
+                final NBTCompound nbt = block.nbt();
+                writer.write(INT, entry.getIntKey());
+                writer.write(STRING, handler != null ? handler.getNamespaceId().asString() : "");
+                writer.write(BOOLEAN, nbt != null);
+                if (nbt != null) writer.write(NBT, nbt);
+            }
+        });
+    }
+
+    private Chunk readChunk(Instance instance, int chunkX, int chunkZ, NetworkBuffer reader) {
+        final Chunk chunk = chunkSupplier.createChunk(instance, chunkX, chunkZ);
+        synchronized (chunk) {
+            for (Section section : chunk.getSections()) {
+                section.blockPalette().read(reader);
+                section.biomePalette().read(reader);
+                section.setSkyLight(reader.read(BYTE_ARRAY));
+                section.setBlockLight(reader.read(BYTE_ARRAY));
+                section.invalidate();
+            }
+            // Palettes have been modified directly
+            if (chunk instanceof DynamicChunk dynamicChunk) dynamicChunk.invalidate();
+
+            final int count = reader.read(VAR_INT);
+            for (int i = 0; i < count; i++) {
+                final int index = reader.read(INT);
+                final String handlerId = reader.read(STRING);
+                final NBTCompound nbt = reader.read(BOOLEAN) ? (NBTCompound) reader.read(NBT) : null;
+                final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+                final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+                final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+                Block block = chunk.getBlock(x, y, z);
+                if (!handlerId.isEmpty()) {
+                    block = block.withHandler(MinecraftServer.getBlockManager().getHandlerOrDummy(handlerId));
+                }
+                if (nbt != null) block = block.withNbt(nbt);
+                chunk.setBlock(x, y, z, block);
+            }
+        }
+        return chunk;
+    }
+
+    private static NetworkBuffer chunkData(World world, Entry entry) throws DataFormatException {
+        ByteBuffer data = world.data().slice(entry.offset(), entry.length());
+        if (entry.length() != entry.rawLength()) {
+            byte[] compressed = new byte[entry.length()];
+            data.get(compressed);
+            data = ByteBuffer.wrap(decompress(compressed, entry.rawLength()));
+        }
+        NetworkBuffer reader = new NetworkBuffer(data, false);
+        reader.writeIndex(entry.rawLength());
+        return reader;
+    }
+
+    private byte[] compress(byte[] raw) {
+        if (compression == Compression.NONE) return raw;
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] buffer = new byte[raw.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            // Stored uncompressed if it does not save anything, a length equal to the raw length means no compression
+            return length < raw.length ? Arrays.copyOf(buffer, length) : raw;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] compressed, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                final int read = inflater.inflate(raw, length, rawLength - length);
+                if (read == 0 && inflater.needsInput()) break;
+                length += read;
+            }
+            if (length != rawLength) throw new DataFormatException("Invalid chunk length");
+            return raw;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Gets the supplier used to create the loaded chunks.
+     *
+     * @return the chunk supplier
+     */
+    public @NotNull ChunkSupplier getChunkSupplier() {
+        return chunkSupplier;
+    }
+
+    /**
+     * Changes the supplier used to create the loaded chunks.
+     *
+     * @param chunkSupplier the new chunk supplier
+     */
+    public void setChunkSupplier(@NotNull ChunkSupplier chunkSupplier) {
+        this.chunkSupplier = chunkSupplier;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+}
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.Serial;
 import java.io.Serializable;
 
+import static net.minestom.server.network.NetworkBuffer.RAW_BYTES;
 import static net.minestom.server.network.NetworkBuffer.SHORT;
 
 public final class Section implements NetworkBuffer.Writer, Serializable {
@@ -18,17 +19,24 @@ public final class Section implements NetworkBuffer.Writer, Serializable {
     private byte[] skyLight;
     private byte[] blockLight;
 
+    // Network encoding of the palettes, null if invalidated
+    private transient volatile Encoded encoded;
+
+    private record Encoded(byte[] data, int blockModifications, int biomeModifications) {
+    }
+
     private Section(Palette blockPalette, Palette biomePalette,
-                    byte[] skyLight, byte[] blockLight) {
+                    byte[] skyLight, byte[] blockLight, Encoded encoded) {
         this.blockPalette = blockPalette;
         this.biomePalette = biomePalette;
         this.skyLight = skyLight;
         this.blockLight = blockLight;
+        this.encoded = encoded;
     }
 
     public Section() {
         this(Palette.blocks(), Palette.biomes(),
-                new byte[0], new byte[0]);
+                new byte[0], new byte[0], null);
     }
 
     public Palette blockPalette() {
@@ -60,18 +68,51 @@ public final class Section implements NetworkBuffer.Writer, Serializable {
         this.biomePalette.fill(0);
         this.skyLight = new byte[0];
         this.blockLight = new byte[0];
+        this.encoded = null;
+    }
+
+    /**
+     * Discards the cached network encoding of this section.
+     * <p>
+     * Modifications made through the palettes are detected, this is only needed
+     * if a palette is modified in a way it does not track.
+     */
+    public void invalidate() {
+        this.encoded = null;
+    }
+
+    /**
+     * Gets the network encoding of this section, computed once until the palettes are modified.
+     *
+     * @return the encoded section, must not be modified
+     */
+    byte[] encoded() {
+        // Read before encoding, a concurrent modification is then seen by the next call
+        final int blockModifications = blockPalette.modificationCount();
+        final int biomeModifications = biomePalette.modificationCount();
+        Encoded encoded = this.encoded;
+        if (encoded == null || encoded.blockModifications() != blockModifications ||
+                encoded.biomeModifications() != biomeModifications) {
+            final byte[] data = NetworkBuffer.makeArray(networkBuffer -> {
+                networkBuffer.write(SHORT, (short) blockPalette.count());
+                networkBuffer.write(blockPalette);
+                networkBuffer.write(biomePalette);
+            });
+            encoded = new Encoded(data, blockModifications, biomeModifications);
+            this.encoded = encoded;
+        }
+        return encoded.data();
     }
 
     @Override
     public @NotNull Section clone() {
+        // Palettes are copy-on-write, light arrays are replaced instead of being modified
         return new Section(blockPalette.clone(), biomePalette.clone(),
-                skyLight.clone(), blockLight.clone());
+                skyLight, blockLight, encoded);
     }
 
     @Override
     public void write(@NotNull NetworkBuffer writer) {
-        writer.write(SHORT, (short) blockPalette.count());
-        writer.write(blockPalette);
-        writer.write(biomePalette);
+        writer.write(RAW_BYTES, encoded());
     }
 }
@@ -11,6 +11,8 @@ import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend until one of them is modified (copy-on-write).
  */
 final class AdaptivePalette implements Palette, Cloneable {
     @Serial
@@ -18,6 +20,10 @@ final class AdaptivePalette implements Palette, Cloneable {
 
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
     SpecializedPalette palette;
+    // True if the backend may be referenced by a clone, it must then be copied before any modification
+    private transient boolean shared;
+    // Copied by clones, which start with the same content
+    private transient int modifications;
 
     AdaptivePalette(byte dimension, byte maxBitsPerEntry, byte bitsPerEntry) {
         validateDimension(dimension);
@@ -45,17 +51,25 @@ final class AdaptivePalette implements Palette, Cloneable {
         this.palette.getAllPresent(consumer);
     }
 
+    @Override
+    public int @NotNull [] getAllIndexes(int @NotNull [] indexes) {
+        return this.palette.getAllIndexes(indexes);
+    }
+
     @Override
     public void set(int x, int y, int z, int value) {
         if (x < 0 || y < 0 || z < 0) {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
         flexiblePalette().set(x, y, z, value);
+        this.modifications++;
     }
 
     @Override
     public void fill(int value) {
         this.palette = new FilledPalette(dimension, value);
+        this.shared = false;
+        this.modifications++;
     }
 
     @Override
@@ -63,6 +77,8 @@ final class AdaptivePalette implements Palette, Cloneable {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
         this.palette = newPalette;
+        this.shared = false;
+        this.modifications++;
     }
 
     @Override
@@ -71,11 +87,13 @@ final class AdaptivePalette implements Palette, Cloneable {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
         flexiblePalette().replace(x, y, z, operator);
+        this.modifications++;
     }
 
     @Override
     public void replaceAll(@NotNull EntryFunction function) {
         flexiblePalette().replaceAll(function);
+        this.modifications++;
     }
 
     @Override
@@ -98,21 +116,68 @@ final class AdaptivePalette implements Palette, Cloneable {
         return dimension;
     }
 
+    @Override
+    public int modificationCount() {
+        return modifications;
+    }
+
     @Override
     public @NotNull Palette clone() {
         try {
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            // Immutable backends do not need to be tracked
+            final boolean shared = !(palette instanceof SpecializedPalette.Immutable);
+            this.shared = shared;
+            adaptivePalette.shared = shared;
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
         }
     }
 
+    @Override
+    public void read(@NotNull NetworkBuffer reader) {
+        final int start = reader.readIndex();
+        final byte bitsPerEntry = reader.read(NetworkBuffer.BYTE);
+        if (bitsPerEntry > 0 && bitsPerEntry <= maxBitsPerEntry) {
+            // Use the data as-is when it matches the layout of FlexiblePalette
+            final int[] paletteValues = reader.read(NetworkBuffer.VAR_INT_ARRAY);
+            final long[] values = reader.read(NetworkBuffer.LONG_ARRAY);
+            final int valuesPerLong = 64 / bitsPerEntry;
+            if (paletteValues.length > 0 && paletteValues[0] == 0 &&
+                    paletteValues.length <= FlexiblePalette.maxPaletteSize(bitsPerEntry) &&
+                    values.length == (maxSize() + valuesPerLong - 1) / valuesPerLong &&
+                    indexesInRange(values, bitsPerEntry, maxSize(), paletteValues.length)) {
+                this.palette = new FlexiblePalette(this, bitsPerEntry, paletteValues, values);
+                this.shared = false;
+                this.modifications++;
+                return;
+            }
+        }
+        reader.readIndex(start);
+        Palette.super.read(reader);
+    }
+
+    /**
+     * Checks that every packed index refers to an entry of the palette.
+     */
+    private static boolean indexesInRange(long[] values, int bitsPerEntry, int size, int paletteSize) {
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        for (int i = 0; i < size; i++) {
+            final long value = values[i / valuesPerLong] >>> (i % valuesPerLong) * bitsPerEntry & mask;
+            if (value >= paletteSize) return false;
+        }
+        return true;
+    }
+
     @Override
     public void write(@NotNull NetworkBuffer writer) {
         final SpecializedPalette optimized = optimizedPalette();
-        this.palette = optimized;
+        if (optimized != palette) {
+            this.palette = optimized;
+            this.shared = false;
+        }
         optimized.write(writer);
     }
 
@@ -132,6 +197,8 @@ final class AdaptivePalette implements Palette, Cloneable {
                     return new FilledPalette(dimension, entries.iterator().nextInt());
                 } else if (currentBitsPerEntry > defaultBitsPerEntry &&
                         (bitsPerEntry = MathUtils.bitsToRepresent(entries.size() - 1)) < currentBitsPerEntry) {
+                    // Resizing modifies the backend
+                    if (shared) flexiblePalette = (FlexiblePalette) flexiblePalette.clone();
                     flexiblePalette.resize((byte) bitsPerEntry);
                     return flexiblePalette;
                 }
@@ -146,6 +213,11 @@ final class AdaptivePalette implements Palette, Cloneable {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+            this.shared = false;
+        } else if (shared) {
+            currentPalette = currentPalette.clone();
+            this.palette = currentPalette;
+            this.shared = false;
         }
         return currentPalette;
     }
@@ -3,6 +3,8 @@ package net.minestom.server.instance.palette;
 import net.minestom.server.network.NetworkBuffer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+
 import static net.minestom.server.network.NetworkBuffer.BYTE;
 import static net.minestom.server.network.NetworkBuffer.VAR_INT;
 
@@ -30,6 +32,12 @@ record FilledPalette(byte dim, int value) implements SpecializedPalette.Immutabl
         if (value != 0) getAll(consumer);
     }
 
+    @Override
+    public int @NotNull [] getAllIndexes(int @NotNull [] indexes) {
+        Arrays.fill(indexes, 0, maxSize(), 0);
+        return new int[]{value};
+    }
+
     @Override
     public int count() {
         return value != 0 ? maxSize() : 0;
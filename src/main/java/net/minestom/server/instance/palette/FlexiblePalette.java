@@ -49,6 +49,32 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         this.values = new long[(maxSize() + valuesPerLong - 1) / valuesPerLong];
     }
 
+    FlexiblePalette(AdaptivePalette adaptivePalette, byte bitsPerEntry, int[] palette, long[] values) {
+        this.adaptivePalette = adaptivePalette;
+        this.bitsPerEntry = bitsPerEntry;
+
+        this.paletteToValueList = new IntArrayList(palette);
+        this.valueToPaletteMap = new Int2IntOpenHashMap(palette.length);
+        this.valueToPaletteMap.defaultReturnValue(-1);
+        for (int i = 0; i < palette.length; i++) this.valueToPaletteMap.putIfAbsent(palette[i], i);
+
+        this.values = values;
+        // Index 0 is always the value 0
+        final int magicMask = (1 << bitsPerEntry) - 1;
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final int size = maxSize();
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            final long value = values[i];
+            final int startIndex = i * valuesPerLong;
+            final int endIndex = Math.min(startIndex + valuesPerLong, size);
+            for (int index = startIndex; index < endIndex; index++) {
+                if ((value >> (index - startIndex) * bitsPerEntry & magicMask) != 0) count++;
+            }
+        }
+        this.count = count;
+    }
+
     FlexiblePalette(AdaptivePalette adaptivePalette) {
         this(adaptivePalette, adaptivePalette.defaultBitsPerEntry);
     }
@@ -75,6 +101,38 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         retrieveAll(consumer, false);
     }
 
+    @Override
+    public int @NotNull [] getAllIndexes(int @NotNull [] indexes) {
+        final long[] values = this.values;
+        final int bitsPerEntry = this.bitsPerEntry;
+        final int magicMask = (1 << bitsPerEntry) - 1;
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final int size = maxSize();
+        for (int i = 0; i < values.length; i++) {
+            final long value = values[i];
+            final int startIndex = i * valuesPerLong;
+            final int endIndex = Math.min(startIndex + valuesPerLong, size);
+            for (int index = startIndex; index < endIndex; index++) {
+                indexes[index] = (int) (value >> (index - startIndex) * bitsPerEntry & magicMask);
+            }
+        }
+        if (hasPalette()) return paletteToValueList.toIntArray();
+        // Direct values, build a palette out of them
+        Int2IntOpenHashMap valueToIndex = new Int2IntOpenHashMap();
+        valueToIndex.defaultReturnValue(-1);
+        IntArrayList indexToValue = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            final int value = indexes[i];
+            int index = valueToIndex.putIfAbsent(value, indexToValue.size());
+            if (index == -1) {
+                index = indexToValue.size();
+                indexToValue.add(value);
+            }
+            indexes[i] = index;
+        }
+        return indexToValue.toIntArray();
+    }
+
     @Override
     public void set(int x, int y, int z, int value) {
         value = getPaletteIndex(value);
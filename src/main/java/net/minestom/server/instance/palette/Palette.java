@@ -1,5 +1,7 @@
 package net.minestom.server.instance.palette;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minestom.server.network.NetworkBuffer;
 import org.jetbrains.annotations.NotNull;
 
@@ -54,6 +56,15 @@ public interface Palette extends NetworkBuffer.Writer, Serializable {
 
     int dimension();
 
+    /**
+     * Returns a counter incremented by each modification, used to detect changes made to the palette.
+     * <p>
+     * Palettes not tracking their modifications always return 0.
+     */
+    default int modificationCount() {
+        return 0;
+    }
+
     /**
      * Returns the maximum number of entries in this palette.
      */
@@ -62,6 +73,57 @@ public interface Palette extends NetworkBuffer.Writer, Serializable {
         return dimension * dimension * dimension;
     }
 
+    /**
+     * Gets the palette index of every entry, and the value of each index.
+     * <p>
+     * Allows to translate values once per palette index instead of once per entry.
+     *
+     * @param indexes the array to fill with the index of each entry, ordered by y, z then x (see {@link #getAll(EntryConsumer)}),
+     *                must be at least {@link #maxSize()} long
+     * @return the value of each palette index, some indexes may be unused
+     */
+    default int @NotNull [] getAllIndexes(int @NotNull [] indexes) {
+        final int dimension = dimension();
+        Int2IntOpenHashMap valueToIndex = new Int2IntOpenHashMap();
+        IntArrayList indexToValue = new IntArrayList();
+        getAll((x, y, z, value) -> {
+            int index = valueToIndex.getOrDefault(value, -1);
+            if (index == -1) {
+                index = indexToValue.size();
+                valueToIndex.put(value, index);
+                indexToValue.add(value);
+            }
+            indexes[(y * dimension + z) * dimension + x] = index;
+        });
+        return indexToValue.toIntArray();
+    }
+
+    /**
+     * Replaces the content of this palette with data in the network format, as written by {@link #write(NetworkBuffer)}.
+     *
+     * @param reader the buffer to read the palette from
+     */
+    default void read(@NotNull NetworkBuffer reader) {
+        final int bitsPerEntry = reader.read(NetworkBuffer.BYTE);
+        if (bitsPerEntry == 0) {
+            final int value = reader.read(NetworkBuffer.VAR_INT);
+            reader.read(NetworkBuffer.VAR_INT); // Empty data array
+            fill(value);
+            return;
+        }
+        final int[] palette = bitsPerEntry <= maxBitsPerEntry() ? reader.read(NetworkBuffer.VAR_INT_ARRAY) : null;
+        final long[] values = reader.read(NetworkBuffer.LONG_ARRAY);
+        final int dimension = dimension();
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final int mask = (1 << bitsPerEntry) - 1;
+        setAll((x, y, z) -> {
+            final int index = (y * dimension + z) * dimension + x;
+            final int cell = index / valuesPerLong;
+            final int value = (int) (values[cell] >> (index - cell * valuesPerLong) * bitsPerEntry & mask);
+            return palette != null ? palette[value] : value;
+        });
+    }
+
     @NotNull Palette clone();
 
     @FunctionalInterface
@@ -2,6 +2,7 @@ package net.minestom.server.listener;
 
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.player.PlayerHandAnimationEvent;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.network.packet.client.play.ClientAnimationPacket;
@@ -9,16 +10,26 @@ import net.minestom.server.network.packet.client.play.ClientAnimationPacket;
 public class AnimationListener {
 
     public static void animationListener(ClientAnimationPacket packet, Player player) {
+        animationListener(packet, player, EventDispatcher.getHandle(PlayerHandAnimationEvent.class));
+    }
+
+    /**
+     * @param handle the handle of {@link PlayerHandAnimationEvent}, retrieved once by the caller
+     */
+    public static void animationListener(ClientAnimationPacket packet, Player player,
+                                         ListenerHandle<PlayerHandAnimationEvent> handle) {
         final Player.Hand hand = packet.hand();
         final ItemStack itemStack = player.getItemInHand(hand);
         //itemStack.onLeftClick(player, hand);
-        PlayerHandAnimationEvent handAnimationEvent = new PlayerHandAnimationEvent(player, hand);
-        EventDispatcher.callCancellable(handAnimationEvent, () -> {
-            switch (hand) {
-                case MAIN -> player.swingMainHand();
-                case OFF -> player.swingOffHand();
-            }
-        });
+        if (handle.hasListener()) {
+            final PlayerHandAnimationEvent handAnimationEvent = new PlayerHandAnimationEvent(player, hand);
+            handle.call(handAnimationEvent);
+            if (handAnimationEvent.isCancelled()) return;
+        }
+        switch (hand) {
+            case MAIN -> player.swingMainHand();
+            case OFF -> player.swingOffHand();
+        }
     }
 
 }
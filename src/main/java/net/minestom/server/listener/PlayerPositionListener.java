@@ -3,6 +3,7 @@ package net.minestom.server.listener;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.network.packet.client.play.*;
@@ -17,22 +18,47 @@ public class PlayerPositionListener {
     }
 
     public static void playerLookListener(ClientPlayerRotationPacket packet, Player player) {
-        processMovement(player, player.getPosition().withView(packet.yaw(), packet.pitch()), packet.onGround());
+        playerLookListener(packet, player, EventDispatcher.getHandle(PlayerMoveEvent.class));
     }
 
     public static void playerPositionListener(ClientPlayerPositionPacket packet, Player player) {
-        processMovement(player, player.getPosition().withCoord(packet.position()), packet.onGround());
+        playerPositionListener(packet, player, EventDispatcher.getHandle(PlayerMoveEvent.class));
     }
 
     public static void playerPositionAndLookListener(ClientPlayerPositionAndRotationPacket packet, Player player) {
-        processMovement(player, packet.position(), packet.onGround());
+        playerPositionAndLookListener(packet, player, EventDispatcher.getHandle(PlayerMoveEvent.class));
+    }
+
+    /**
+     * @param handle the handle of {@link PlayerMoveEvent}, retrieved once by the caller
+     */
+    public static void playerLookListener(ClientPlayerRotationPacket packet, Player player,
+                                          ListenerHandle<PlayerMoveEvent> handle) {
+        processMovement(player, player.getPosition().withView(packet.yaw(), packet.pitch()), packet.onGround(), handle);
+    }
+
+    /**
+     * @param handle the handle of {@link PlayerMoveEvent}, retrieved once by the caller
+     */
+    public static void playerPositionListener(ClientPlayerPositionPacket packet, Player player,
+                                              ListenerHandle<PlayerMoveEvent> handle) {
+        processMovement(player, player.getPosition().withCoord(packet.position()), packet.onGround(), handle);
+    }
+
+    /**
+     * @param handle the handle of {@link PlayerMoveEvent}, retrieved once by the caller
+     */
+    public static void playerPositionAndLookListener(ClientPlayerPositionAndRotationPacket packet, Player player,
+                                                     ListenerHandle<PlayerMoveEvent> handle) {
+        processMovement(player, packet.position(), packet.onGround(), handle);
     }
 
     public static void teleportConfirmListener(ClientTeleportConfirmPacket packet, Player player) {
         player.refreshReceivedTeleportId(packet.teleportId());
     }
 
-    private static void processMovement(@NotNull Player player, @NotNull Pos packetPosition, boolean onGround) {
+    private static void processMovement(@NotNull Player player, @NotNull Pos packetPosition, boolean onGround,
+                                        @NotNull ListenerHandle<PlayerMoveEvent> handle) {
         final var currentPosition = player.getPosition();
         if (currentPosition.equals(packetPosition)) {
             // For some reason, the position is the same
@@ -53,18 +79,21 @@ public class PlayerPositionListener {
             return;
         }
 
-        PlayerMoveEvent playerMoveEvent = new PlayerMoveEvent(player, packetPosition, onGround);
-        EventDispatcher.call(playerMoveEvent);
-        if (!currentPosition.equals(player.getPosition())) {
-            // Player has been teleported in the event
-            return;
-        }
-        if (playerMoveEvent.isCancelled()) {
-            // Teleport to previous position
-            player.sendPacket(new PlayerPositionAndLookPacket(currentPosition, (byte) 0x00, player.getNextTeleportId()));
-            return;
+        PlayerMoveEvent playerMoveEvent = null;
+        if (handle.hasListener()) {
+            playerMoveEvent = new PlayerMoveEvent(player, packetPosition, onGround);
+            handle.call(playerMoveEvent);
+            if (!currentPosition.equals(player.getPosition())) {
+                // Player has been teleported in the event
+                return;
+            }
+            if (playerMoveEvent.isCancelled()) {
+                // Teleport to previous position
+                player.sendPacket(new PlayerPositionAndLookPacket(currentPosition, (byte) 0x00, player.getNextTeleportId()));
+                return;
+            }
         }
-        final Pos eventPosition = playerMoveEvent.getNewPosition();
+        final Pos eventPosition = playerMoveEvent != null ? playerMoveEvent.getNewPosition() : packetPosition;
         if (packetPosition.equals(eventPosition)) {
             // Event didn't change the position
             player.refreshPosition(eventPosition);
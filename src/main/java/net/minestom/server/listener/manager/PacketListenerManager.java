@@ -3,7 +3,10 @@ package net.minestom.server.listener.manager;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerProcess;
 import net.minestom.server.entity.Player;
-import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.GlobalEventHandler;
+import net.minestom.server.event.ListenerHandle;
+import net.minestom.server.event.player.PlayerHandAnimationEvent;
+import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.event.player.PlayerPacketEvent;
 import net.minestom.server.listener.*;
 import net.minestom.server.network.packet.client.ClientPacket;
@@ -21,9 +24,15 @@ public final class PacketListenerManager {
     private final ServerProcess serverProcess;
 
     private final Map<Class<? extends ClientPacket>, PacketListenerConsumer> listeners = new ConcurrentHashMap<>();
+    private final ListenerHandle<PlayerPacketEvent> packetEventHandle;
 
     public PacketListenerManager(ServerProcess serverProcess) {
         this.serverProcess = serverProcess;
+        // Handles of the events called for the most frequent packets
+        final GlobalEventHandler eventHandler = serverProcess.eventHandler();
+        this.packetEventHandle = eventHandler.getHandle(PlayerPacketEvent.class);
+        final ListenerHandle<PlayerMoveEvent> moveHandle = eventHandler.getHandle(PlayerMoveEvent.class);
+        final ListenerHandle<PlayerHandAnimationEvent> animationHandle = eventHandler.getHandle(PlayerHandAnimationEvent.class);
 
         setListener(ClientKeepAlivePacket.class, KeepAliveListener::listener);
         setListener(ClientCommandChatPacket.class, ChatMessageListener::commandChatListener);
@@ -38,12 +47,16 @@ public final class PacketListenerManager {
         setListener(ClientVehicleMovePacket.class, PlayerVehicleListener::vehicleMoveListener);
         setListener(ClientSteerBoatPacket.class, PlayerVehicleListener::boatSteerListener);
         setListener(ClientPlayerPacket.class, PlayerPositionListener::playerPacketListener);
-        setListener(ClientPlayerRotationPacket.class, PlayerPositionListener::playerLookListener);
-        setListener(ClientPlayerPositionPacket.class, PlayerPositionListener::playerPositionListener);
-        setListener(ClientPlayerPositionAndRotationPacket.class, PlayerPositionListener::playerPositionAndLookListener);
+        setListener(ClientPlayerRotationPacket.class, (packet, player) ->
+                PlayerPositionListener.playerLookListener(packet, player, moveHandle));
+        setListener(ClientPlayerPositionPacket.class, (packet, player) ->
+                PlayerPositionListener.playerPositionListener(packet, player, moveHandle));
+        setListener(ClientPlayerPositionAndRotationPacket.class, (packet, player) ->
+                PlayerPositionListener.playerPositionAndLookListener(packet, player, moveHandle));
         setListener(ClientTeleportConfirmPacket.class, PlayerPositionListener::teleportConfirmListener);
         setListener(ClientPlayerDiggingPacket.class, PlayerDiggingListener::playerDiggingListener);
-        setListener(ClientAnimationPacket.class, AnimationListener::animationListener);
+        setListener(ClientAnimationPacket.class, (packet, player) ->
+                AnimationListener.animationListener(packet, player, animationHandle));
         setListener(ClientInteractEntityPacket.class, UseEntityListener::useEntityListener);
         setListener(ClientUseItemPacket.class, UseItemListener::useItemListener);
         setListener(ClientStatusPacket.class, StatusListener::listener);
@@ -73,10 +86,11 @@ public final class PacketListenerManager {
         PacketListenerConsumer<T> packetListenerConsumer = listeners.get(clazz);
 
         // Event
-        PlayerPacketEvent playerPacketEvent = new PlayerPacketEvent(player, packet);
-        EventDispatcher.call(playerPacketEvent);
-        if (playerPacketEvent.isCancelled()) {
-            return;
+        final ListenerHandle<PlayerPacketEvent> packetEventHandle = this.packetEventHandle;
+        if (packetEventHandle.hasListener()) {
+            final PlayerPacketEvent playerPacketEvent = new PlayerPacketEvent(player, packet);
+            packetEventHandle.call(playerPacketEvent);
+            if (playerPacketEvent.isCancelled()) return;
         }
 
         // Finally execute the listener
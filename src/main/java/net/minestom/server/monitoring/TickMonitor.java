@@ -4,10 +4,21 @@ public class TickMonitor {
 
     private final double tickTime;
     private final double acquisitionTime;
+    private final double instanceTickTime;
+    private final double dispatcherTickTime;
+    private final double flushTime;
 
     public TickMonitor(double tickTime, double acquisitionTime) {
+        this(tickTime, acquisitionTime, 0, 0, 0);
+    }
+
+    public TickMonitor(double tickTime, double acquisitionTime,
+                       double instanceTickTime, double dispatcherTickTime, double flushTime) {
         this.tickTime = tickTime;
         this.acquisitionTime = acquisitionTime;
+        this.instanceTickTime = instanceTickTime;
+        this.dispatcherTickTime = dispatcherTickTime;
+        this.flushTime = flushTime;
     }
 
     public double getTickTime() {
@@ -17,4 +28,31 @@ public class TickMonitor {
     public double getAcquisitionTime() {
         return acquisitionTime;
     }
+
+    /**
+     * Gets the time spent ticking the instances (time, weather, world border, scheduled tasks).
+     *
+     * @return the instances tick time in milliseconds
+     */
+    public double getInstanceTickTime() {
+        return instanceTickTime;
+    }
+
+    /**
+     * Gets the time spent ticking the chunks and entities in the dispatcher threads.
+     *
+     * @return the dispatcher tick time in milliseconds
+     */
+    public double getDispatcherTickTime() {
+        return dispatcherTickTime;
+    }
+
+    /**
+     * Gets the time spent flushing the packets sent to viewers.
+     *
+     * @return the flush time in milliseconds
+     */
+    public double getFlushTime() {
+        return flushTime;
+    }
 }
@@ -0,0 +1,195 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.utils.ObjectPool;
+import net.minestom.server.utils.PropertyUtils;
+import net.minestom.server.utils.Utils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses packets bigger than {@code minestom.compression-offload-size} on a bounded pool of threads
+ * instead of the network workers.
+ * <p>
+ * Connections keep the packets order by waiting for the compressed result before flushing anything written after it.
+ * Disabled by default, enabled using the {@code minestom.compression-pipeline} property.
+ */
+@ApiStatus.Internal
+@ApiStatus.Experimental
+public final class CompressionPipeline {
+    public static final boolean ENABLED = PropertyUtils.getBoolean("minestom.compression-pipeline", false);
+    private static final int THREAD_COUNT = Integer.getInteger("minestom.compression-threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 4));
+    private static final int QUEUE_SIZE = Integer.getInteger("minestom.compression-queue-size", 4096);
+    private static final int OFFLOAD_SIZE = Integer.getInteger("minestom.compression-offload-size", 8192);
+
+    private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
+
+    // Metrics
+    private static final LongAdder PACKET_COUNTER = new LongAdder();
+    private static final LongAdder INPUT_COUNTER = new LongAdder();
+    private static final LongAdder OUTPUT_COUNTER = new LongAdder();
+    private static final LongAdder TIME_COUNTER = new LongAdder();
+
+    private CompressionPipeline() {
+    }
+
+    /**
+     * Gets the executor running the compression tasks.
+     * <p>
+     * Tasks are run by the caller when the queue is full.
+     *
+     * @return the compression executor
+     */
+    public static @NotNull Executor executor() {
+        return Pool.EXECUTOR;
+    }
+
+    /**
+     * Gets if a packet should be compressed by the pool instead of the current thread.
+     *
+     * @param size the uncompressed packet size (id + payload)
+     * @return true if the packet should be compressed asynchronously
+     */
+    public static boolean shouldOffload(int size) {
+        return size >= Math.max(OFFLOAD_SIZE, MinecraftServer.getCompressionThreshold());
+    }
+
+    /**
+     * Writes the packet id and payload without framing.
+     *
+     * @param buffer the buffer to write to
+     * @param packet the packet to write
+     * @return {@code buffer} ready to be read
+     */
+    public static @NotNull ByteBuffer serialize(@NotNull ByteBuffer buffer, @NotNull ServerPacket packet) {
+        NetworkBuffer networkBuffer = new NetworkBuffer(buffer, false);
+        networkBuffer.write(NetworkBuffer.VAR_INT, packet.getId());
+        networkBuffer.write(packet);
+        return buffer.limit(networkBuffer.writeIndex()).position(0);
+    }
+
+    /**
+     * Frames serialized content using the compressed format.
+     *
+     * @param content the packet id and payload, consumed
+     * @param output  the buffer to write the framed packet to
+     * @return {@code output} ready to be read
+     */
+    public static @NotNull ByteBuffer frame(@NotNull ByteBuffer content, @NotNull ByteBuffer output) {
+        final int size = content.remaining();
+        if (size < MinecraftServer.getCompressionThreshold()) {
+            // Too small, uncompressed data length is 0
+            Utils.writeVarIntHeader(output, 0, size + 3);
+            Utils.writeVarIntHeader(output, 3, 0);
+            output.put(6, content, content.position(), size);
+            content.position(content.limit());
+            return output.limit(size + 6).position(0);
+        }
+        final long start = System.nanoTime();
+        Deflater deflater = LOCAL_DEFLATER.get();
+        deflater.setInput(content);
+        deflater.finish();
+        deflater.deflate(output.position(6));
+        deflater.reset();
+        final int end = output.position();
+        Utils.writeVarIntHeader(output, 0, end - 3);
+        Utils.writeVarIntHeader(output, 3, size);
+
+        PACKET_COUNTER.increment();
+        INPUT_COUNTER.add(size);
+        OUTPUT_COUNTER.add(end);
+        TIME_COUNTER.add(System.nanoTime() - start);
+        return output.flip();
+    }
+
+    /**
+     * Frames a packet using the compressed format in a trimmed heap buffer.
+     *
+     * @param packet the packet to frame
+     * @return the framed packet
+     */
+    public static @NotNull FramedPacket frame(@NotNull ServerPacket packet) {
+        try (var content = ObjectPool.PACKET_POOL.hold();
+             var output = ObjectPool.PACKET_POOL.hold()) {
+            final ByteBuffer framed = frame(serialize(content.get(), packet), output.get());
+            final ByteBuffer buffer = ByteBuffer.allocate(framed.remaining()).put(framed).flip();
+            return new FramedPacket(packet, buffer);
+        }
+    }
+
+    /**
+     * Frames serialized content on the compression pool.
+     *
+     * @param content the packet id and payload, copied to a pooled buffer before returning
+     * @return a future completed with a trimmed heap buffer
+     */
+    public static @NotNull CompletableFuture<ByteBuffer> frameAsync(@NotNull ByteBuffer content) {
+        final ByteBuffer copy = ObjectPool.PACKET_POOL.get().put(content).flip();
+        return CompletableFuture.supplyAsync(() -> {
+            try (var output = ObjectPool.PACKET_POOL.hold()) {
+                final ByteBuffer framed = frame(copy, output.get());
+                return ByteBuffer.allocate(framed.remaining()).put(framed).flip();
+            } finally {
+                ObjectPool.PACKET_POOL.add(copy);
+            }
+        }, executor());
+    }
+
+    /**
+     * Gets the compression metrics since the last reset.
+     *
+     * @return the current metrics
+     */
+    public static @NotNull Metrics metrics() {
+        return new Metrics(PACKET_COUNTER.sum(), INPUT_COUNTER.sum(), OUTPUT_COUNTER.sum(), TIME_COUNTER.sum());
+    }
+
+    /**
+     * Retrieves and resets the compression metrics.
+     *
+     * @return the metrics before the reset
+     */
+    public static @NotNull Metrics resetMetrics() {
+        return new Metrics(PACKET_COUNTER.sumThenReset(), INPUT_COUNTER.sumThenReset(),
+                OUTPUT_COUNTER.sumThenReset(), TIME_COUNTER.sumThenReset());
+    }
+
+    /**
+     * Compression statistics.
+     *
+     * @param packets     the number of compressed packets
+     * @param inputBytes  the uncompressed size of the packets
+     * @param outputBytes the framed size of the compressed packets
+     * @param timeNanos   the time spent compressing
+     */
+    public record Metrics(long packets, long inputBytes, long outputBytes, long timeNanos) {
+        /**
+         * Gets the compression ratio.
+         *
+         * @return the output size divided by the input size, 1 if nothing has been compressed
+         */
+        public double ratio() {
+            return inputBytes == 0 ? 1 : (double) outputBytes / inputBytes;
+        }
+    }
+
+    private static final class Pool {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "Ms-compression-" + COUNTER.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
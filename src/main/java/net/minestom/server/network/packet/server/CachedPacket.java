@@ -1,5 +1,6 @@
 package net.minestom.server.network.packet.server;
 
+import net.minestom.server.network.CompressionPipeline;
 import net.minestom.server.utils.PacketUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -7,6 +8,8 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
@@ -19,10 +22,27 @@ import java.util.function.Supplier;
 @ApiStatus.Internal
 public final class CachedPacket implements SendablePacket {
     private final Supplier<ServerPacket> packetSupplier;
+    private final Supplier<FramedPacket> framedSupplier;
     private volatile SoftReference<FramedPacket> packet;
+    // Computation in progress on the compression pool
+    private final AtomicReference<CompletableFuture<FramedPacket>> pending = new AtomicReference<>();
 
     public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier) {
         this.packetSupplier = packetSupplier;
+        this.framedSupplier = null;
+    }
+
+    /**
+     * Creates a cached packet whose framed form is retrieved from {@code framedSupplier},
+     * allowing it to be shared with another cache.
+     *
+     * @param packetSupplier the packet supplier, used when packet caching is disabled
+     * @param framedSupplier the framed packet supplier
+     */
+    public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier,
+                        @NotNull Supplier<@NotNull FramedPacket> framedSupplier) {
+        this.packetSupplier = packetSupplier;
+        this.framedSupplier = framedSupplier;
     }
 
     public CachedPacket(@NotNull ServerPacket packet) {
@@ -31,6 +51,7 @@ public final class CachedPacket implements SendablePacket {
 
     public void invalidate() {
         this.packet = null;
+        this.pending.set(null);
     }
 
     public @NotNull ServerPacket packet() {
@@ -43,13 +64,51 @@ public final class CachedPacket implements SendablePacket {
         return cache != null ? cache.body() : null;
     }
 
+    /**
+     * Retrieves the framed packet, computing it on the {@link CompressionPipeline} if not cached.
+     * <p>
+     * Concurrent calls share the same computation, so that the packet is compressed only once.
+     *
+     * @return a future completed with the framed packet
+     */
+    @ApiStatus.Internal
+    public @NotNull CompletableFuture<FramedPacket> bodyAsync() {
+        if (!PacketUtils.CACHED_PACKET) {
+            return CompletableFuture.supplyAsync(() -> CompressionPipeline.frame(packetSupplier.get()),
+                    CompressionPipeline.executor());
+        }
+        while (true) {
+            SoftReference<FramedPacket> ref = packet;
+            FramedPacket cache;
+            if (ref != null && (cache = ref.get()) != null) return CompletableFuture.completedFuture(cache);
+            final CompletableFuture<FramedPacket> current = pending.get();
+            if (current != null) return current;
+            final CompletableFuture<FramedPacket> future = new CompletableFuture<>();
+            if (!pending.compareAndSet(null, future)) continue;
+            CompressionPipeline.executor().execute(() -> {
+                try {
+                    final FramedPacket framed = framedSupplier != null ?
+                            framedSupplier.get() : CompressionPipeline.frame(packetSupplier.get());
+                    // Do not cache if invalidated in the meantime
+                    if (pending.compareAndSet(future, null)) this.packet = new SoftReference<>(framed);
+                    future.complete(framed);
+                } catch (Throwable t) {
+                    pending.compareAndSet(future, null);
+                    future.completeExceptionally(t);
+                }
+            });
+            return future;
+        }
+    }
+
     private @Nullable FramedPacket updatedCache() {
         if (!PacketUtils.CACHED_PACKET)
             return null;
         SoftReference<FramedPacket> ref = packet;
         FramedPacket cache;
         if (ref == null || (cache = ref.get()) == null) {
-            cache = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
+            cache = framedSupplier != null ?
+                    framedSupplier.get() : PacketUtils.allocateTrimmedPacket(packetSupplier.get());
             this.packet = new SoftReference<>(cache);
         }
         return cache;
@@ -9,6 +9,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.player.PlayerPacketOutEvent;
 import net.minestom.server.extras.mojangAuth.MojangCrypt;
+import net.minestom.server.network.CompressionPipeline;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.client.ClientPacket;
@@ -35,6 +36,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SocketChannel;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.DataFormatException;
@@ -48,6 +51,10 @@ import java.util.zip.DataFormatException;
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
     private static final ObjectPool<BinaryBuffer> POOL = ObjectPool.BUFFER_POOL;
+    // Shared buffers bigger than this are referenced in the write queue instead of being copied
+    private static final int ZERO_COPY_THRESHOLD = Integer.getInteger("minestom.zero-copy-threshold", 1024);
+    private static final int GATHER_SIZE = 64;
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocateDirect(0);
 
     private final Worker worker;
     private final MessagePassingQueue<Runnable> workerQueue;
@@ -71,8 +78,12 @@ public class PlayerSocketConnection extends PlayerConnection {
     // cleared once the player enters the play state
     private final Map<Integer, String> pluginRequestMap = new ConcurrentHashMap<>();
 
-    private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
+    // Data waiting to be written to the socket, in order
+    private final ArrayDeque<WriteSegment> writeQueue = new ArrayDeque<>();
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[GATHER_SIZE];
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(POOL.get());
+    // Start of the tick buffer data not yet present in the write queue
+    private int tickBufferStart;
     private BinaryBuffer cacheBuffer;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
@@ -159,6 +170,7 @@ public class PlayerSocketConnection extends PlayerConnection {
     public void sendPacket(@NotNull SendablePacket packet) {
         final boolean compressed = this.compressed;
         this.workerQueue.relaxedOffer(() -> writePacketSync(packet, compressed));
+        this.worker.signal();
     }
 
     @Override
@@ -168,11 +180,22 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.workerQueue.relaxedOffer(() -> {
             for (SendablePacket packet : packetsCopy) writePacketSync(packet, compressed);
         });
+        this.worker.signal();
     }
 
+    /**
+     * Writes a framed buffer to the connection.
+     * <p>
+     * The buffer may be referenced until it is flushed, and must therefore not be modified afterward.
+     *
+     * @param buffer the buffer containing framed packets
+     * @param index  the start of the data to write
+     * @param length the length of the data to write
+     */
     @ApiStatus.Internal
     public void write(@NotNull ByteBuffer buffer, int index, int length) {
-        this.workerQueue.relaxedOffer(() -> writeBufferSync(buffer, index, length));
+        this.workerQueue.relaxedOffer(() -> writeBufferSync(buffer, index, length, true));
+        this.worker.signal();
     }
 
     @ApiStatus.Internal
@@ -204,9 +227,12 @@ public class PlayerSocketConnection extends PlayerConnection {
             this.worker.disconnect(this, channel);
             final BinaryBuffer tick = tickBuffer.getAndSet(null);
             if (tick != null) POOL.add(tick);
-            for (BinaryBuffer buffer : waitingBuffers) POOL.add(buffer);
-            this.waitingBuffers.clear();
+            for (WriteSegment segment : writeQueue) {
+                if (segment.release != null) POOL.add(segment.release);
+            }
+            this.writeQueue.clear();
         });
+        this.worker.signal();
     }
 
     public @NotNull SocketChannel getChannel() {
@@ -349,10 +375,14 @@ public class PlayerSocketConnection extends PlayerConnection {
             writeServerPacketSync(serverPacket, compressed);
         } else if (packet instanceof FramedPacket framedPacket) {
             var buffer = framedPacket.body();
-            writeBufferSync(buffer, 0, buffer.limit());
+            writeBufferSync(buffer, 0, buffer.limit(), true);
         } else if (packet instanceof CachedPacket cachedPacket) {
+            if (compressed && usePipeline()) {
+                writeFutureSync(cachedPacket.bodyAsync().thenApply(FramedPacket::body));
+                return;
+            }
             var buffer = cachedPacket.body();
-            if (buffer != null) writeBufferSync(buffer, buffer.position(), buffer.remaining());
+            if (buffer != null) writeBufferSync(buffer, buffer.position(), buffer.remaining(), true);
             else writeServerPacketSync(cachedPacket.packet(), compressed);
         } else if (packet instanceof LazyPacket lazyPacket) {
             writeServerPacketSync(lazyPacket.packet(), compressed);
@@ -369,13 +399,53 @@ public class PlayerSocketConnection extends PlayerConnection {
                         GlobalTranslator.render(component, Objects.requireNonNullElseGet(player.getLocale(), MinestomAdventure::getDefaultLocale)));
             }
         }
+        if (compressed && usePipeline()) {
+            try (var hold = ObjectPool.PACKET_POOL.hold()) {
+                final ByteBuffer content = CompressionPipeline.serialize(hold.get(), serverPacket);
+                if (CompressionPipeline.shouldOffload(content.remaining())) {
+                    writeFutureSync(CompressionPipeline.frameAsync(content));
+                    return;
+                }
+                try (var output = ObjectPool.PACKET_POOL.hold()) {
+                    var buffer = CompressionPipeline.frame(content, output.get());
+                    writeBufferSync(buffer, 0, buffer.limit(), false);
+                }
+            }
+            return;
+        }
         try (var hold = ObjectPool.PACKET_POOL.hold()) {
             var buffer = PacketUtils.createFramedPacket(hold.get(), serverPacket, compressed);
-            writeBufferSync(buffer, 0, buffer.limit());
+            writeBufferSync(buffer, 0, buffer.limit(), false);
+        }
+    }
+
+    private boolean usePipeline() {
+        // Encryption has to be applied in order, and therefore cannot wait for the compression
+        return CompressionPipeline.ENABLED && encryptionContext == null;
+    }
+
+    /**
+     * Writes a framed buffer once computed, without blocking the packets written after it.
+     */
+    private void writeFutureSync(CompletableFuture<ByteBuffer> future) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            final ByteBuffer buffer = future.join();
+            writeBufferSync(buffer, buffer.position(), buffer.remaining(), true);
+            return;
         }
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer == null)
+            return; // Socket is closed
+        sealTickBuffer(localBuffer);
+        this.writeQueue.add(new WriteSegment(future));
+        // Flush once the buffer is available
+        future.whenComplete((buffer, throwable) -> {
+            this.workerQueue.relaxedOffer(() -> this.worker.markDirty(this));
+            this.worker.signal();
+        });
     }
 
-    private void writeBufferSync(@NotNull ByteBuffer buffer, int index, int length) {
+    private void writeBufferSync(@NotNull ByteBuffer buffer, int index, int length, boolean shared) {
         // Encrypt data
         final EncryptionContext encryptionContext = this.encryptionContext;
         if (encryptionContext != null) { // Encryption support
@@ -383,20 +453,27 @@ public class PlayerSocketConnection extends PlayerConnection {
                 ByteBuffer output = hold.get();
                 try {
                     length = encryptionContext.encrypt().update(buffer.slice(index, length), output);
-                    writeBufferSync0(output, 0, length);
+                    writeBufferSync0(output, 0, length, false);
                 } catch (ShortBufferException e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
                 return;
             }
         }
-        writeBufferSync0(buffer, index, length);
+        writeBufferSync0(buffer, index, length, shared);
     }
 
-    private void writeBufferSync0(@NotNull ByteBuffer buffer, int index, int length) {
+    private void writeBufferSync0(@NotNull ByteBuffer buffer, int index, int length, boolean shared) {
         BinaryBuffer localBuffer = tickBuffer.getPlain();
         if (localBuffer == null)
             return; // Socket is closed
+        this.worker.markDirty(this);
+        if (shared && length >= ZERO_COPY_THRESHOLD) {
+            // Immutable buffer, reference it instead of copying
+            sealTickBuffer(localBuffer);
+            this.writeQueue.add(new WriteSegment(buffer.slice(index, length), null));
+            return;
+        }
         final int capacity = localBuffer.capacity();
         if (length <= capacity) {
             if (!localBuffer.canWrite(length)) localBuffer = updateLocalBuffer();
@@ -407,39 +484,119 @@ public class PlayerSocketConnection extends PlayerConnection {
                 final int sliceStart = i * capacity;
                 final int sliceLength = Math.min(length, sliceStart + capacity) - sliceStart;
                 if (!localBuffer.canWrite(sliceLength)) localBuffer = updateLocalBuffer();
-                localBuffer.write(buffer, sliceStart, sliceLength);
+                localBuffer.write(buffer, index + sliceStart, sliceLength);
             }
         }
     }
 
-    public void flushSync() throws IOException {
+    /**
+     * Writes as much buffered data as possible to the socket.
+     *
+     * @return true if all the buffered data has been written, false if the socket buffer is full
+     * @throws IOException if the socket cannot be written to
+     */
+    public boolean flushSync() throws IOException {
         final SocketChannel channel = this.channel;
-        final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
         if (!channel.isConnected()) throw new ClosedChannelException();
-        if (waitingBuffers.isEmpty()) {
-            BinaryBuffer localBuffer = tickBuffer.getPlain();
-            if (localBuffer == null)
-                return; // Socket is closed
-            localBuffer.writeChannel(channel);
-        } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                POOL.add(waitingBuffer);
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer == null)
+            return true; // Socket is closed
+        sealTickBuffer(localBuffer);
+        final ArrayDeque<WriteSegment> writeQueue = this.writeQueue;
+        final ByteBuffer[] gatherBuffers = this.gatherBuffers;
+        while (!writeQueue.isEmpty()) {
+            // Gathering write of the first segments
+            int count = 0;
+            for (WriteSegment segment : writeQueue) {
+                final ByteBuffer buffer = segment.buffer();
+                if (buffer == null) break; // Waiting for compression
+                gatherBuffers[count++] = buffer;
+                if (count == gatherBuffers.length) break;
+            }
+            if (count == 0) return true; // Flushed again once the compression is done
+            try {
+                channel.write(gatherBuffers, 0, count);
+            } finally {
+                Arrays.fill(gatherBuffers, 0, count, null);
+            }
+            // Remove the fully written segments
+            for (int i = 0; i < count; i++) {
+                final WriteSegment segment = writeQueue.peekFirst();
+                if (segment.buffer().hasRemaining()) return false; // Socket buffer is full
+                writeQueue.pollFirst();
+                if (segment.release != null) POOL.add(segment.release);
             }
         }
+        // Everything has been written, the tick buffer can be reused from the start
+        localBuffer.clear();
+        this.tickBufferStart = 0;
+        return true;
+    }
+
+    /**
+     * Appends the tick buffer data written since the last call to the write queue.
+     */
+    private void sealTickBuffer(BinaryBuffer localBuffer) {
+        final int start = tickBufferStart;
+        final int end = localBuffer.writerOffset();
+        if (end == start) return;
+        this.writeQueue.add(new WriteSegment(localBuffer.asByteBuffer(start, end - start), null));
+        this.tickBufferStart = end;
     }
 
     private BinaryBuffer updateLocalBuffer() {
+        final BinaryBuffer previous = tickBuffer.getPlain();
+        sealTickBuffer(previous);
+        // Release the previous buffer once its data has been written
+        this.writeQueue.add(new WriteSegment(EMPTY_BUFFER, previous));
         BinaryBuffer newBuffer = POOL.get();
-        this.waitingBuffers.add(tickBuffer.getPlain());
         this.tickBuffer.setPlain(newBuffer);
+        this.tickBufferStart = 0;
         return newBuffer;
     }
 
+    /**
+     * Data to write to the socket, either a slice of a pooled buffer or of an immutable shared buffer.
+     */
+    private static final class WriteSegment {
+        private ByteBuffer buffer;
+        // Pooled buffer to release once this segment has been written
+        private final BinaryBuffer release;
+        // Buffer being computed by the compression pipeline
+        private final CompletableFuture<ByteBuffer> pending;
+
+        WriteSegment(@NotNull ByteBuffer buffer, @Nullable BinaryBuffer release) {
+            this.buffer = buffer;
+            this.release = release;
+            this.pending = null;
+        }
+
+        WriteSegment(@NotNull CompletableFuture<ByteBuffer> pending) {
+            this.release = null;
+            this.pending = pending;
+        }
+
+        /**
+         * Gets the data to write.
+         *
+         * @return the data, null if still being computed
+         */
+        @Nullable ByteBuffer buffer() {
+            ByteBuffer buffer = this.buffer;
+            if (buffer != null) return buffer;
+            if (!pending.isDone()) return null;
+            try {
+                // Shared buffer, the position must not be modified
+                buffer = pending.join().duplicate();
+            } catch (CompletionException e) {
+                MinecraftServer.getExceptionManager().handleException(e.getCause());
+                buffer = EMPTY_BUFFER;
+            }
+            this.buffer = buffer;
+            return buffer;
+        }
+    }
+
     record EncryptionContext(Cipher encrypt, Cipher decrypt) {
     }
 }
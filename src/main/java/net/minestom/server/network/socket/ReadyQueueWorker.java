@@ -0,0 +1,112 @@
+package net.minestom.server.network.socket;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.utils.ObjectPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Worker only flushing the connections which have been written to.
+ * <p>
+ * Connections whose socket buffer is full are parked until the selector reports them as writable,
+ * and all the readable channels of a select call share the same read buffer.
+ */
+final class ReadyQueueWorker extends Worker {
+    // Connections with data waiting to be flushed, only accessed by the worker thread
+    private final Set<PlayerSocketConnection> dirtyConnections = new ReferenceOpenHashSet<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+
+    ReadyQueueWorker(Server server) {
+        super(server);
+    }
+
+    @Override
+    public void run() {
+        while (server.isOpen()) {
+            try {
+                // Tasks added after this point will wake up the selector
+                this.wakeupPending.set(false);
+                try {
+                    this.queue.drain(Runnable::run);
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+                flushDirtyConnections();
+                // Wait for an event
+                if (selector.select(MinecraftServer.TICK_MS) > 0) processSelectedKeys();
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+
+    @Override
+    public void markDirty(@NotNull PlayerSocketConnection connection) {
+        this.dirtyConnections.add(connection);
+    }
+
+    @Override
+    public void signal() {
+        if (!wakeupPending.getAndSet(true)) selector.wakeup();
+    }
+
+    @Override
+    public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
+        super.disconnect(connection, channel);
+        this.dirtyConnections.remove(connection);
+    }
+
+    private void flushDirtyConnections() {
+        Iterator<PlayerSocketConnection> iterator = dirtyConnections.iterator();
+        while (iterator.hasNext()) {
+            final PlayerSocketConnection connection = iterator.next();
+            final SocketChannel channel = connection.getChannel();
+            iterator.remove();
+            if (!channel.isOpen()) continue;
+            try {
+                if (!connection.flushSync()) {
+                    // Socket buffer is full, wait for the channel to be writable again
+                    final SelectionKey key = channel.keyFor(selector);
+                    if (key != null && key.isValid()) {
+                        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+            } catch (Exception e) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+        final Set<SelectionKey> keys = selector.selectedKeys();
+        try (var holder = ObjectPool.PACKET_POOL.hold()) {
+            final ByteBuffer buffer = holder.get();
+            for (SelectionKey key : keys) {
+                if (!key.isValid()) continue;
+                final SocketChannel channel = (SocketChannel) key.channel();
+                if (!channel.isOpen()) continue;
+                if (key.isWritable()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    final PlayerSocketConnection connection = connectionMap.get(channel);
+                    if (connection != null) this.dirtyConnections.add(connection);
+                }
+                if (key.isReadable()) {
+                    read(channel, buffer.clear());
+                }
+            }
+        } finally {
+            keys.clear();
+        }
+        // Flush what has been written while reading
+        flushDirtyConnections();
+    }
+}
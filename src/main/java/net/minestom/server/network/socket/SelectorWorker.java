@@ -0,0 +1,48 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.utils.ObjectPool;
+
+import java.nio.channels.SocketChannel;
+
+/**
+ * Worker flushing every connection at each loop iteration.
+ */
+final class SelectorWorker extends Worker {
+    SelectorWorker(Server server) {
+        super(server);
+    }
+
+    @Override
+    public void run() {
+        while (server.isOpen()) {
+            try {
+                try {
+                    this.queue.drain(Runnable::run);
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+                // Flush all connections if needed
+                for (PlayerSocketConnection connection : connectionMap.values()) {
+                    try {
+                        connection.flushSync();
+                    } catch (Exception e) {
+                        connection.disconnect();
+                    }
+                }
+                // Wait for an event
+                this.selector.select(key -> {
+                    final SocketChannel channel = (SocketChannel) key.channel();
+                    if (!channel.isOpen()) return;
+                    if (!key.isReadable()) return;
+                    try (var holder = ObjectPool.PACKET_POOL.hold()) {
+                        read(channel, holder.get());
+                    }
+                }, MinecraftServer.TICK_MS);
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+    }
+}
@@ -36,9 +36,13 @@ public final class Server {
     private int port;
 
     public Server(PacketProcessor packetProcessor) throws IOException {
+        this(packetProcessor, Transport.fromProperty());
+    }
+
+    public Server(PacketProcessor packetProcessor, Transport transport) throws IOException {
         this.packetProcessor = packetProcessor;
         Worker[] workers = new Worker[WORKER_COUNT];
-        Arrays.setAll(workers, value -> new Worker(this));
+        Arrays.setAll(workers, value -> transport.createWorker(this));
         this.workers = List.of(workers);
     }
 
@@ -0,0 +1,39 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Defines how the {@link Server} workers handle the connections I/O.
+ */
+@FunctionalInterface
+@ApiStatus.Experimental
+public interface Transport {
+    /**
+     * Flushes every connection at each worker iteration.
+     */
+    Transport SELECTOR = SelectorWorker::new;
+
+    /**
+     * Only flushes the connections which received data, wakes up the worker when packets are sent,
+     * and waits for full sockets to be writable again instead of retrying them.
+     */
+    Transport READY_QUEUE = ReadyQueueWorker::new;
+
+    /**
+     * Gets the transport defined by the {@code minestom.transport} property,
+     * either {@code selector} (default) or {@code ready-queue}.
+     *
+     * @return the transport to use
+     */
+    static @NotNull Transport fromProperty() {
+        final String name = System.getProperty("minestom.transport", "selector");
+        return switch (name) {
+            case "selector" -> SELECTOR;
+            case "ready-queue" -> READY_QUEUE;
+            default -> throw new IllegalArgumentException("Unknown transport: " + name);
+        };
+    }
+
+    @NotNull Worker createWorker(@NotNull Server server);
+}
@@ -3,15 +3,16 @@ package net.minestom.server.network.socket;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.thread.MinestomThread;
-import net.minestom.server.utils.ObjectPool;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedXaddArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
@@ -19,14 +20,17 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Thread responsible for the I/O of a group of connections, created by a {@link Transport}.
+ */
 @ApiStatus.Internal
-public final class Worker extends MinestomThread {
+public abstract sealed class Worker extends MinestomThread permits SelectorWorker, ReadyQueueWorker {
     private static final AtomicInteger COUNTER = new AtomicInteger();
 
     final Selector selector;
-    private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
-    private final Server server;
-    private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
+    final Server server;
+    final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
@@ -38,60 +42,6 @@ public final class Worker extends MinestomThread {
         }
     }
 
-    @Override
-    public void run() {
-        while (server.isOpen()) {
-            try {
-                try {
-                    this.queue.drain(Runnable::run);
-                } catch (Exception e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
-                }
-                // Flush all connections if needed
-                for (PlayerSocketConnection connection : connectionMap.values()) {
-                    try {
-                        connection.flushSync();
-                    } catch (Exception e) {
-                        connection.disconnect();
-                    }
-                }
-                // Wait for an event
-                this.selector.select(key -> {
-                    final SocketChannel channel = (SocketChannel) key.channel();
-                    if (!channel.isOpen()) return;
-                    if (!key.isReadable()) return;
-                    final PlayerSocketConnection connection = connectionMap.get(channel);
-                    if (connection == null) {
-                        try {
-                            channel.close();
-                        } catch (IOException e) {
-                            // Empty
-                        }
-                        return;
-                    }
-                    try {
-                        try (var holder = ObjectPool.PACKET_POOL.hold()) {
-                            BinaryBuffer readBuffer = BinaryBuffer.wrap(holder.get());
-                            // Consume last incomplete packet
-                            connection.consumeCache(readBuffer);
-                            // Read & process
-                            readBuffer.readChannel(channel);
-                            connection.processPackets(readBuffer, server.packetProcessor());
-                        }
-                    } catch (IOException e) {
-                        // TODO print exception? (should ignore disconnection)
-                        connection.disconnect();
-                    } catch (Throwable t) {
-                        MinecraftServer.getExceptionManager().handleException(t);
-                        connection.disconnect();
-                    }
-                }, MinecraftServer.TICK_MS);
-            } catch (Exception e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-            }
-        }
-    }
-
     public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
@@ -106,6 +56,22 @@ public final class Worker extends MinestomThread {
         }
     }
 
+    /**
+     * Called from the worker thread once data has been written to the buffer of {@code connection}.
+     *
+     * @param connection the connection to flush
+     */
+    public void markDirty(@NotNull PlayerSocketConnection connection) {
+        // Empty
+    }
+
+    /**
+     * Called after a task has been added to {@link #queue()}, from any thread.
+     */
+    public void signal() {
+        // Empty
+    }
+
     void receiveConnection(SocketChannel channel) throws IOException {
         this.connectionMap.put(channel, new PlayerSocketConnection(this, channel, channel.getRemoteAddress()));
         channel.configureBlocking(false);
@@ -120,6 +86,32 @@ public final class Worker extends MinestomThread {
         this.selector.wakeup();
     }
 
+    void read(SocketChannel channel, ByteBuffer buffer) {
+        final PlayerSocketConnection connection = connectionMap.get(channel);
+        if (connection == null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Empty
+            }
+            return;
+        }
+        try {
+            BinaryBuffer readBuffer = BinaryBuffer.wrap(buffer);
+            // Consume last incomplete packet
+            connection.consumeCache(readBuffer);
+            // Read & process
+            readBuffer.readChannel(channel);
+            connection.processPackets(readBuffer, server.packetProcessor());
+        } catch (IOException e) {
+            // TODO print exception? (should ignore disconnection)
+            connection.disconnect();
+        } catch (Throwable t) {
+            MinecraftServer.getExceptionManager().handleException(t);
+            connection.disconnect();
+        }
+    }
+
     public MessagePassingQueue<Runnable> queue() {
         return queue;
     }
@@ -183,6 +183,8 @@ public final class Registry {
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
         private final Shape shape;
+        private final int lightEmission;
+        private final boolean occludes;
         private final Properties custom;
 
         private BlockEntry(String namespace, Properties main, Properties custom) {
@@ -219,6 +221,8 @@ public final class Registry {
                 final String string = main.getString("collisionShape");
                 this.shape = CollisionUtils.parseBlockShape(string, this);
             }
+            this.lightEmission = main.getInt("lightEmission", 0);
+            this.occludes = main.getBoolean("occludes", solid && shape.isFullBlock());
         }
 
         public @NotNull NamespaceID namespace() {
@@ -277,6 +281,14 @@ public final class Registry {
             return liquid;
         }
 
+        public int lightEmission() {
+            return lightEmission;
+        }
+
+        public boolean occludes() {
+            return occludes;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
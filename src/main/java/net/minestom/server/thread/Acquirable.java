@@ -5,6 +5,7 @@ import net.minestom.server.utils.async.AsyncUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -44,6 +45,16 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
         return AcquirableImpl.WAIT_COUNTER_NANO.getAndSet(0);
     }
 
+    /**
+     * Retrieves and resets the contended acquisitions, per pair of threads.
+     *
+     * @return the contention between each pair of threads since the last reset
+     */
+    @ApiStatus.Internal
+    static @NotNull List<@NotNull Contention> resetContention() {
+        return AcquirableImpl.resetContention();
+    }
+
     /**
      * Creates a new {@link Acquirable} object.
      * <p>
@@ -69,7 +80,7 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
      * @see #sync(Consumer) for auto-closeable capability
      */
     default @NotNull Acquired<T> lock() {
-        return new Acquired<>(unwrap(), assignedThread());
+        return new Acquired<>(this);
     }
 
     /**
@@ -135,4 +146,15 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
 
     @ApiStatus.Internal
     @NotNull TickThread assignedThread();
+
+    /**
+     * Acquisitions of elements owned by {@code target} which had to wait for it.
+     *
+     * @param thread       the acquiring thread
+     * @param target       the thread owning the acquired elements
+     * @param acquisitions the number of contended acquisitions
+     * @param waitTime     the time spent waiting, in nanoseconds
+     */
+    record Contention(@NotNull Thread thread, @NotNull TickThread target, long acquisitions, long waitTime) {
+    }
 }
@@ -18,21 +18,39 @@ public class AcquirableCollection<E> implements Collection<Acquirable<E>> {
 
     public void acquireSync(@NotNull Consumer<E> consumer) {
         final Thread currentThread = Thread.currentThread();
-        var threadEntitiesMap = retrieveOptionalThreadMap(acquirableCollection, currentThread, consumer);
+        Map<TickThread, List<Acquirable<E>>> threadEntitiesMap = new HashMap<>();
+        for (Acquirable<E> element : acquirableCollection) {
+            final TickThread elementThread = element.assignedThread();
+            if (currentThread == elementThread) {
+                // The element is managed in the current thread, consumer can be immediately called
+                consumer.accept(element.unwrap());
+            } else {
+                threadEntitiesMap.computeIfAbsent(elementThread, tickThread -> new ArrayList<>()).add(element);
+            }
+        }
 
         // Acquire all the threads one by one
-        {
-            for (var entry : threadEntitiesMap.entrySet()) {
-                final TickThread tickThread = entry.getKey();
-                final List<E> values = entry.getValue();
-
-                var lock = AcquirableImpl.enter(currentThread, tickThread);
-                for (E value : values) {
-                    consumer.accept(value);
+        List<Acquirable<E>> moved = null;
+        for (var entry : threadEntitiesMap.entrySet()) {
+            final TickThread tickThread = entry.getKey();
+            var lock = AcquirableImpl.enter(currentThread, tickThread);
+            try {
+                for (Acquirable<E> element : entry.getValue()) {
+                    if (element.assignedThread() == tickThread) {
+                        consumer.accept(element.unwrap());
+                    } else {
+                        // Changed thread while waiting (e.g. stolen)
+                        if (moved == null) moved = new ArrayList<>();
+                        moved.add(element);
+                    }
                 }
+            } finally {
                 AcquirableImpl.leave(lock);
             }
         }
+        if (moved != null) {
+            for (Acquirable<E> element : moved) element.sync(consumer);
+        }
     }
 
     public void acquireAsync(@NotNull Consumer<E> consumer) {
@@ -4,16 +4,33 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Acquisitions only lock the thread owning the element.
+ * <p>
+ * Thread locks are ordered by creation, and a thread never blocks on a lock while holding one ordered after it:
+ * the locks ordered after the target (including its own) are released while waiting,
+ * and entered again in order once the target has been acquired.
+ * Nested acquisitions made in the opposite order may therefore let the outer elements be accessed
+ * by their threads while waiting.
+ */
 final class AcquirableImpl<T> implements Acquirable<T> {
     static final AtomicLong WAIT_COUNTER_NANO = new AtomicLong();
 
-    /**
-     * Global lock used for synchronization.
-     */
-    private static final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
+    private static final AtomicInteger LOCK_ORDER = new AtomicInteger();
+    private static final ThreadLocal<Held> LOCAL_HELD = ThreadLocal.withInitial(Held::new);
+    // Acquiring thread -> element thread -> contention
+    private static final Map<Thread, Map<TickThread, Counter>> CONTENTION = new ConcurrentHashMap<>();
 
     private final T value;
     private TickThread assignedThread;
@@ -41,34 +58,145 @@ final class AcquirableImpl<T> implements Acquirable<T> {
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
-        final ReentrantLock currentLock = currentThread instanceof TickThread ? ((TickThread) currentThread).lock() : null;
-        final ReentrantLock targetLock = elementThread.lock();
+        final ThreadLock targetLock = elementThread.lock;
         if (targetLock.isHeldByCurrentThread()) return null;
+        final Held held = held(currentThread);
+        if (!targetLock.tryLock()) {
+            final ThreadLock currentLock = currentThread instanceof TickThread tickThread ? tickThread.lock : null;
+            // Monitoring
+            final long time = System.nanoTime();
 
-        // Monitoring
-        final long time = System.nanoTime();
+            acquire(currentLock, targetLock, held);
 
-        // Enter the target thread
-        // TODO reduce global lock scope
-        if (currentLock != null) {
-            while (!GLOBAL_LOCK.tryLock()) {
-                currentLock.unlock();
-                currentLock.lock();
-            }
-        } else {
-            GLOBAL_LOCK.lock();
+            // Monitoring
+            final long waitTime = System.nanoTime() - time;
+            WAIT_COUNTER_NANO.addAndGet(waitTime);
+            counter(currentThread, elementThread).add(waitTime);
         }
-        targetLock.lock();
-
-        // Monitoring
-        WAIT_COUNTER_NANO.addAndGet(System.nanoTime() - time);
+        held.add(targetLock);
         return targetLock;
     }
 
     static void leave(@Nullable ReentrantLock lock) {
         if (lock != null) {
+            held(Thread.currentThread()).remove((ThreadLock) lock);
             lock.unlock();
-            GLOBAL_LOCK.unlock();
+        }
+    }
+
+    static @NotNull List<Acquirable.@NotNull Contention> resetContention() {
+        List<Acquirable.Contention> result = new ArrayList<>();
+        for (Map.Entry<Thread, Map<TickThread, Counter>> entry : CONTENTION.entrySet()) {
+            final Map<TickThread, Counter> counters = entry.getValue();
+            for (TickThread target : counters.keySet()) {
+                final Counter counter = counters.remove(target);
+                if (counter == null) continue;
+                result.add(new Acquirable.Contention(entry.getKey(), target,
+                        counter.acquisitions.sum(), counter.waitTime.sum()));
+            }
+        }
+        return result;
+    }
+
+    private static void acquire(@Nullable ThreadLock currentLock, ThreadLock targetLock, Held held) {
+        final int order = targetLock.order;
+        final boolean releaseCurrent = currentLock != null && currentLock.order > order && currentLock.isHeldByCurrentThread();
+        if (!releaseCurrent && held.maxOrder() < order) {
+            // Every held lock is ordered before the target
+            targetLock.lock();
+            return;
+        }
+        // Release the locks ordered after the target, they may be held by a thread waiting for it
+        final ThreadLock[] released = held.after(order, releaseCurrent ? currentLock : null);
+        final int[] holdCounts = new int[released.length];
+        for (int i = 0; i < released.length; i++) {
+            final ThreadLock lock = released[i];
+            final int holdCount = lock.getHoldCount();
+            holdCounts[i] = holdCount;
+            for (int j = 0; j < holdCount; j++) lock.unlock();
+        }
+        targetLock.lock();
+        // Enter them again in order
+        for (int i = 0; i < released.length; i++) {
+            final ThreadLock lock = released[i];
+            for (int j = 0; j < holdCounts[i]; j++) lock.lock();
+        }
+    }
+
+    private static Counter counter(Thread currentThread, TickThread elementThread) {
+        Map<TickThread, Counter> counters = CONTENTION.get(currentThread);
+        if (counters == null) counters = CONTENTION.computeIfAbsent(currentThread, thread -> new ConcurrentHashMap<>());
+        Counter counter = counters.get(elementThread);
+        if (counter == null) counter = counters.computeIfAbsent(elementThread, thread -> new Counter());
+        return counter;
+    }
+
+    private static Held held(Thread thread) {
+        return thread instanceof TickThread tickThread ? tickThread.held : LOCAL_HELD.get();
+    }
+
+    /**
+     * Lock of a {@link TickThread}, ordered by creation.
+     */
+    static final class ThreadLock extends ReentrantLock {
+        private final int order = LOCK_ORDER.getAndIncrement();
+    }
+
+    /**
+     * Locks acquired from other threads, only accessed by the owning thread.
+     */
+    static final class Held {
+        private ThreadLock[] locks = new ThreadLock[4];
+        private int size;
+
+        int maxOrder() {
+            int max = -1;
+            for (int i = 0; i < size; i++) max = Math.max(max, locks[i].order);
+            return max;
+        }
+
+        /**
+         * Gets the held locks ordered after {@code order}, sorted by order.
+         *
+         * @param order the order to compare to
+         * @param extra an additional lock to include, may be null
+         * @return the locks ordered after {@code order}
+         */
+        ThreadLock[] after(int order, @Nullable ThreadLock extra) {
+            ThreadLock[] result = new ThreadLock[size + 1];
+            int count = 0;
+            if (extra != null) result[count++] = extra;
+            for (int i = 0; i < size; i++) {
+                final ThreadLock lock = locks[i];
+                if (lock.order > order) result[count++] = lock;
+            }
+            result = Arrays.copyOf(result, count);
+            Arrays.sort(result, Comparator.comparingInt(lock -> lock.order));
+            return result;
+        }
+
+        void add(ThreadLock lock) {
+            if (size == locks.length) this.locks = Arrays.copyOf(locks, size * 2);
+            this.locks[size++] = lock;
+        }
+
+        void remove(ThreadLock lock) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (locks[i] != lock) continue;
+                System.arraycopy(locks, i + 1, locks, i, size - i - 1);
+                this.locks[--size] = null;
+                return;
+            }
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+
+        void add(long waitTime) {
+            this.acquisitions.increment();
+            this.waitTime.add(waitTime);
         }
     }
 }
@@ -19,10 +19,18 @@ public final class Acquired<T> {
     private final ReentrantLock lock;
     private boolean unlocked;
 
-    Acquired(T value, TickThread tickThread) {
-        this.value = value;
+    Acquired(Acquirable<T> acquirable) {
+        this.value = acquirable.unwrap();
         this.owner = Thread.currentThread();
-        this.lock = AcquirableImpl.enter(owner, tickThread);
+        ReentrantLock lock;
+        while (true) {
+            final TickThread tickThread = acquirable.assignedThread();
+            lock = AcquirableImpl.enter(owner, tickThread);
+            // The element may have changed thread while waiting (e.g. stolen), its new thread must be locked instead
+            if (acquirable.assignedThread() == tickThread) break;
+            AcquirableImpl.leave(lock);
+        }
+        this.lock = lock;
     }
 
     public @NotNull T get() {
@@ -0,0 +1,113 @@
+package net.minestom.server.thread;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assigns partitions to threads using a greedy bin-packing over their last tick cost.
+ */
+final class BalancedThreadProvider<T> implements ThreadProvider<T> {
+    // Allowed load difference before moving a partition away from its previous thread
+    private static final double SLACK = 0.05;
+
+    private final int refreshInterval;
+    private int refreshCounter;
+
+    private Object2IntMap<T> assignments = new Object2IntOpenHashMap<>();
+    private long[] loads = new long[0];
+    // Cost given to partitions assigned between two refreshes, the average of the last refresh
+    private long estimatedCost = 1;
+    // Assignments made before the first refresh, reduced by the dispatcher to its thread count
+    private int nextThread;
+
+    BalancedThreadProvider(int refreshInterval) {
+        Check.argCondition(refreshInterval <= 0, "Refresh interval must be positive");
+        this.refreshInterval = refreshInterval;
+        this.assignments.defaultReturnValue(-1);
+    }
+
+    @Override
+    public int findThread(@NotNull T partition) {
+        final int assigned = assignments.getInt(partition);
+        if (assigned != -1) return assigned;
+        // Unknown partition, give it to the least loaded thread
+        final long[] loads = this.loads;
+        final int thread;
+        if (loads.length == 0) {
+            // No cost known yet
+            thread = nextThread++ & Integer.MAX_VALUE;
+        } else {
+            thread = lightestThread(loads);
+            // Estimated until the next refresh, so that a burst of new partitions is spread
+            loads[thread] += estimatedCost;
+        }
+        this.assignments.put(partition, thread);
+        return thread;
+    }
+
+    @Override
+    public void removePartition(@NotNull T partition) {
+        this.assignments.removeInt(partition);
+    }
+
+    @Override
+    public @NotNull RefreshType refreshType() {
+        return RefreshType.ALWAYS;
+    }
+
+    @Override
+    public void refresh(@NotNull Costs<T> costs) {
+        if (refreshCounter++ % refreshInterval != 0) return;
+        final int threadCount = costs.threadCount();
+        List<T> partitions = new ArrayList<>();
+        LongArrayList partitionCosts = new LongArrayList();
+        costs.forEach((partition, cost) -> {
+            partitions.add(partition);
+            partitionCosts.add(cost);
+        });
+        final int size = partitions.size();
+        long totalCost = 0;
+        for (int i = 0; i < size; i++) totalCost += partitionCosts.getLong(i);
+        // Most expensive partitions first
+        int[] order = new int[size];
+        Arrays.setAll(order, i -> i);
+        IntArrays.quickSort(order, (a, b) -> Long.compare(partitionCosts.getLong(b), partitionCosts.getLong(a)));
+
+        final long slack = (long) (totalCost / Math.max(1, threadCount) * SLACK);
+        final Object2IntMap<T> previousAssignments = this.assignments;
+        Object2IntMap<T> assignments = new Object2IntOpenHashMap<>(size);
+        assignments.defaultReturnValue(-1);
+        long[] loads = new long[threadCount];
+        for (int index : order) {
+            final T partition = partitions.get(index);
+            final long cost = partitionCosts.getLong(index);
+            int thread = lightestThread(loads);
+            // Avoid moving partitions around when the gain is negligible
+            final int previous = previousAssignments.getInt(partition);
+            if (previous >= 0 && previous < threadCount && loads[previous] - loads[thread] <= slack) {
+                thread = previous;
+            }
+            loads[thread] += cost;
+            assignments.put(partition, thread);
+        }
+        this.assignments = assignments;
+        this.loads = loads;
+        this.estimatedCost = Math.max(1, size != 0 ? totalCost / size : 0);
+    }
+
+    private static int lightestThread(long[] loads) {
+        int result = 0;
+        for (int i = 1; i < loads.length; i++) {
+            if (loads[i] < loads[result]) result = i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.timer.ExecutionType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared by the server for work leaving the tick threads.
+ * <p>
+ * CPU-bound work (chunk generation, {@link ExecutionType#ASYNC} tasks) runs on a pool sized by the
+ * {@code minestom.compute-threads} property, so that it is not starved by blocking code.
+ * Blocking work (chunk loading, {@link ExecutionType#VIRTUAL} tasks) runs on virtual threads when the runtime
+ * supports them, and otherwise on daemon threads bounded by the {@code minestom.blocking-threads} property,
+ * extra tasks being queued (e.g. when saving thousands of chunks).
+ * The {@code minestom.blocking-executor} property selects {@code virtual} (default) or {@code compute},
+ * any other value such as {@code bounded} gives the bounded pool.
+ */
+@ApiStatus.Experimental
+public final class MinestomExecutors {
+    private static final int COMPUTE_THREADS = Integer.getInteger("minestom.compute-threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final String BLOCKING_EXECUTOR = System.getProperty("minestom.blocking-executor", "virtual");
+    private static final int BLOCKING_THREADS = Integer.getInteger("minestom.blocking-threads",
+            Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+
+    private MinestomExecutors() {
+    }
+
+    /**
+     * Gets the executor for CPU-bound work.
+     *
+     * @return the compute executor
+     */
+    public static @NotNull ExecutorService compute() {
+        return Compute.EXECUTOR;
+    }
+
+    /**
+     * Gets the executor for work spending most of its time waiting (I/O, locks, remote services).
+     *
+     * @return the blocking executor
+     */
+    public static @NotNull ExecutorService blocking() {
+        return Blocking.EXECUTOR;
+    }
+
+    /**
+     * Gets if blocking work runs on virtual threads.
+     *
+     * @return true if {@link #blocking()} creates virtual threads
+     */
+    public static boolean isVirtual() {
+        return Blocking.VIRTUAL;
+    }
+
+    /**
+     * Gets the executor running tasks of an {@link ExecutionType}.
+     *
+     * @param executionType the execution type
+     * @return the executor of the execution type, the caller thread for {@link ExecutionType#SYNC}
+     */
+    public static @NotNull Executor of(@NotNull ExecutionType executionType) {
+        return switch (executionType) {
+            case SYNC -> Runnable::run;
+            case ASYNC -> compute();
+            case VIRTUAL -> blocking();
+        };
+    }
+
+    private static final class Compute {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = new ForkJoinPool(Math.max(1, COMPUTE_THREADS),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("Ms-compute-" + COUNTER.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, true);
+    }
+
+    private static final class Blocking {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+        private static final ExecutorService VIRTUAL_EXECUTOR = BLOCKING_EXECUTOR.equals("virtual") ? virtualExecutor() : null;
+        private static final boolean VIRTUAL = VIRTUAL_EXECUTOR != null;
+        private static final ExecutorService EXECUTOR = VIRTUAL ? VIRTUAL_EXECUTOR :
+                BLOCKING_EXECUTOR.equals("compute") ? compute() : boundedExecutor();
+
+        private static ExecutorService boundedExecutor() {
+            final int threads = Math.max(1, BLOCKING_THREADS);
+            // Idle threads are stopped like in a cached pool, tasks are queued once all threads are busy
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "Ms-blocking-" + COUNTER.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        private static @Nullable ExecutorService virtualExecutor() {
+            // Compiled for a runtime without virtual threads
+            try {
+                final MethodHandle factory = MethodHandles.publicLookup().findStatic(Executors.class,
+                        "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+                return (ExecutorService) factory.invokeExact();
+            } catch (Throwable e) {
+                // Unavailable or preview
+                return null;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
@@ -9,6 +10,10 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Used to link chunks into multiple groups.
@@ -17,6 +22,7 @@ import java.util.concurrent.CountDownLatch;
 public final class ThreadDispatcher<P> {
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
+    private final boolean workStealing;
 
     // Partition -> dispatching context
     // Defines how computation is dispatched to the threads
@@ -29,31 +35,72 @@ public final class ThreadDispatcher<P> {
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
 
-    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount) {
+    // Incremented every tick, used by the work-stealing mode to claim partitions
+    private long tickId;
+
+    // View given to the provider to balance partitions
+    private final ThreadProvider.Costs<P> costs = new ThreadProvider.Costs<>() {
+        @Override
+        public int threadCount() {
+            return threads.size();
+        }
+
+        @Override
+        public void forEach(@NotNull ObjLongConsumer<P> consumer) {
+            partitions.forEach((partition, entry) -> consumer.accept(partition, entry.tickCost()));
+        }
+    };
+
+    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount, boolean workStealing) {
         this.provider = provider;
+        this.workStealing = workStealing;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
-        this.threads.forEach(Thread::start);
+        initThreads();
     }
 
-    private ThreadDispatcher(ThreadProvider<P> provider, String baseName, int threadCount) {
+    private ThreadDispatcher(ThreadProvider<P> provider, String baseName, int threadCount, boolean workStealing) {
         this.provider = provider;
+        this.workStealing = workStealing;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, index -> {
             return new TickThread(baseName + "-" + index);
         });
         this.threads = List.of(threads);
-        this.threads.forEach(Thread::start);
+        initThreads();
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, int threadCount) {
-        return new ThreadDispatcher<>(provider, threadCount);
+        return new ThreadDispatcher<>(provider, threadCount, false);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, @NotNull String baseName,
                                                       int threadCount) {
-        return new ThreadDispatcher<>(provider, baseName, threadCount);
+        return new ThreadDispatcher<>(provider, baseName, threadCount, false);
+    }
+
+    /**
+     * Creates a dispatcher where idle threads steal the partitions not yet ticked by busier threads.
+     * <p>
+     * A partition is still ticked by a single thread at a time, and a stolen partition
+     * is moved to the thief for the following ticks. Partitions of each thread are ordered
+     * by their last measured tick cost so that the most expensive ones start first.
+     *
+     * @param provider    the provider used to initially assign partitions
+     * @param threadCount the number of tick threads
+     * @param <P>         the partition type
+     * @return a new work-stealing dispatcher
+     */
+    @ApiStatus.Experimental
+    public static <P> @NotNull ThreadDispatcher<P> workStealing(@NotNull ThreadProvider<P> provider, int threadCount) {
+        return new ThreadDispatcher<>(provider, threadCount, true);
+    }
+
+    @ApiStatus.Experimental
+    public static <P> @NotNull ThreadDispatcher<P> workStealing(@NotNull ThreadProvider<P> provider, @NotNull String baseName,
+                                                                int threadCount) {
+        return new ThreadDispatcher<>(provider, baseName, threadCount, true);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> singleThread() {
@@ -65,6 +112,15 @@ public final class ThreadDispatcher<P> {
         return threads;
     }
 
+    /**
+     * Gets if idle threads are allowed to steal partitions from other threads.
+     *
+     * @return true if work-stealing is enabled
+     */
+    public boolean isWorkStealing() {
+        return workStealing;
+    }
+
     /**
      * Prepares the update by creating the {@link TickThread} tasks.
      *
@@ -86,8 +142,48 @@ public final class ThreadDispatcher<P> {
             }
         });
         // Tick all partitions
+        final long tickId = ++this.tickId;
         CountDownLatch latch = new CountDownLatch(threads.size());
-        for (TickThread thread : threads) thread.startTick(latch, time);
+        for (TickThread thread : threads) thread.startTick(latch, time, tickId);
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        if (workStealing) rebalanceStolenPartitions();
+    }
+
+    /**
+     * Applies {@code consumer} to every element using the dispatcher threads, the calling thread included.
+     * <p>
+     * Elements are claimed one by one, so that a few expensive elements do not stall a whole thread.
+     * Cannot run concurrently with {@link #updateAndAwait(long)}.
+     *
+     * @param elements the elements to process
+     * @param consumer the action to apply, called from multiple threads
+     * @param <E>      the element type
+     */
+    public synchronized <E> void forEachParallel(@NotNull List<E> elements, @NotNull Consumer<? super E> consumer) {
+        final int size = elements.size();
+        final int workers = Math.min(threads.size(), size - 1);
+        AtomicInteger index = new AtomicInteger();
+        Runnable task = () -> {
+            int i;
+            while ((i = index.getAndIncrement()) < size) {
+                try {
+                    consumer.accept(elements.get(i));
+                } catch (Throwable e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+            }
+        };
+        if (workers <= 0) {
+            task.run();
+            return;
+        }
+        CountDownLatch latch = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) threads.get(i).startTask(latch, task);
+        task.run();
         try {
             latch.await();
         } catch (InterruptedException e) {
@@ -108,6 +204,7 @@ public final class ThreadDispatcher<P> {
             }
             case ALWAYS -> {
                 final long currentTime = System.nanoTime();
+                provider.refresh(costs);
                 int counter = partitionUpdateQueue.size();
                 while (true) {
                     final P partition = partitionUpdateQueue.pollFirst();
@@ -118,7 +215,7 @@ public final class ThreadDispatcher<P> {
                     final TickThread previous = partitionEntry.thread;
                     final TickThread next = retrieveThread(partition);
                     if (next != previous) {
-                        partitionEntry.thread = next;
+                        partitionEntry.moveTo(next);
                         previous.entries().remove(partitionEntry);
                         next.entries().add(partitionEntry);
                     }
@@ -160,6 +257,30 @@ public final class ThreadDispatcher<P> {
         this.threads.forEach(TickThread::shutdown);
     }
 
+    private void initThreads() {
+        if (workStealing) {
+            for (TickThread thread : threads) thread.stealTargets = threads;
+        }
+        this.threads.forEach(Thread::start);
+    }
+
+    /**
+     * Moves the partitions stolen during the last tick to their new thread,
+     * and orders every thread entries by decreasing tick cost.
+     */
+    private void rebalanceStolenPartitions() {
+        List<Partition> stolen = new ArrayList<>();
+        for (TickThread thread : threads) {
+            thread.entries().removeIf(entry -> {
+                if (entry.thread == thread) return false;
+                stolen.add(entry);
+                return true;
+            });
+        }
+        for (Partition entry : stolen) entry.thread.entries().add(entry);
+        for (TickThread thread : threads) thread.sortEntries();
+    }
+
     private TickThread retrieveThread(P partition) {
         final int threadId = provider.findThread(partition);
         final int index = Math.abs(threadId) % threads.size();
@@ -189,6 +310,7 @@ public final class ThreadDispatcher<P> {
             thread.entries().remove(partitionEntry);
         }
         this.partitionUpdateQueue.remove(partition);
+        this.provider.removePartition(partition);
         if (partition instanceof Tickable tickable) {
             processRemovedElement(tickable);
         }
@@ -223,8 +345,10 @@ public final class ThreadDispatcher<P> {
     }
 
     public static final class Partition {
-        private TickThread thread;
+        private volatile TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
+        private final AtomicLong claimedTick = new AtomicLong();
+        private long tickCost;
 
         private Partition(TickThread thread) {
             this.thread = thread;
@@ -237,6 +361,39 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Gets the time spent ticking this partition during its last tick.
+         *
+         * @return the last tick cost in nanoseconds
+         */
+        public long tickCost() {
+            return tickCost;
+        }
+
+        void updateTickCost(long tickCost) {
+            this.tickCost = tickCost;
+        }
+
+        /**
+         * Marks this partition as being ticked for {@code tickId}.
+         *
+         * @param tickId the current tick identifier
+         * @return true if the caller is the only one allowed to tick the partition
+         */
+        boolean claim(long tickId) {
+            final long previous = claimedTick.get();
+            return previous != tickId && claimedTick.compareAndSet(previous, tickId);
+        }
+
+        void moveTo(@NotNull TickThread thread) {
+            this.thread = thread;
+            for (Tickable element : elements) {
+                if (element instanceof Acquirable.Source<?> source) {
+                    ((AcquirableImpl<?>) source.getAcquirable()).updateThread(thread);
+                }
+            }
+        }
     }
 
     @ApiStatus.Internal
@@ -4,6 +4,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjLongConsumer;
 
 @FunctionalInterface
 @ApiStatus.Experimental
@@ -19,6 +20,21 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider balancing partitions across threads based on their measured tick time.
+     * <p>
+     * Every {@code refreshInterval} refreshes, partitions are redistributed using a greedy bin-packing
+     * so that each thread spends roughly the same time ticking. Moving the partitions is still bounded
+     * by the timeout given to {@link ThreadDispatcher#refreshThreads(long)}.
+     *
+     * @param refreshInterval the number of refreshes between two redistributions
+     * @param <T>             the partition type
+     * @return a new cost-balanced provider
+     */
+    static <T> @NotNull ThreadProvider<T> balanced(int refreshInterval) {
+        return new BalancedThreadProvider<>(refreshInterval);
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -26,6 +42,15 @@ public interface ThreadProvider<T> {
      */
     int findThread(@NotNull T partition);
 
+    /**
+     * Called once a partition is removed from the dispatcher, to forget any state kept for it.
+     *
+     * @param partition the removed partition
+     */
+    default void removePartition(@NotNull T partition) {
+        // Empty
+    }
+
     /**
      * Defines how often chunks thread should be updated.
      *
@@ -35,6 +60,24 @@ public interface ThreadProvider<T> {
         return RefreshType.NEVER;
     }
 
+    /**
+     * Called by the dispatcher before refreshing partitions when {@link #refreshType()} is {@link RefreshType#ALWAYS}.
+     *
+     * @param costs the measured cost of every partition
+     */
+    default void refresh(@NotNull Costs<T> costs) {
+        // Empty
+    }
+
+    /**
+     * Read-only view of the partitions and the time spent ticking them during their last tick.
+     */
+    interface Costs<T> {
+        int threadCount();
+
+        void forEach(@NotNull ObjLongConsumer<T> consumer);
+    }
+
     /**
      * Defines how often chunks thread should be refreshed.
      */
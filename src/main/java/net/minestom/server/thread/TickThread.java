@@ -2,6 +2,7 @@ package net.minestom.server.thread;
 
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
+import net.minestom.server.collision.PhysicsBatch;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
 import org.jetbrains.annotations.ApiStatus;
@@ -9,6 +10,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.locks.LockSupport;
@@ -21,12 +23,24 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 @ApiStatus.Internal
 public final class TickThread extends MinestomThread {
-    private final ReentrantLock lock = new ReentrantLock();
+    final AcquirableImpl.ThreadLock lock = new AcquirableImpl.ThreadLock();
+    // Locks of other threads acquired by this one
+    final AcquirableImpl.Held held = new AcquirableImpl.Held();
     private volatile boolean stop;
 
+    private static final Comparator<ThreadDispatcher.Partition> COST_ORDER =
+            Comparator.comparingLong(ThreadDispatcher.Partition::tickCost).reversed();
+
     private CountDownLatch latch;
+    // Task run instead of the next tick, see ThreadDispatcher#forEachParallel
+    private volatile Runnable task;
     private long tickTime;
+    private long tickId;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
+    // Physics of the entities of the partition being ticked, null if disabled
+    private final PhysicsBatch physicsBatch = PhysicsBatch.ENABLED ? new PhysicsBatch() : null;
+    // Threads to steal partitions from once all local entries have been ticked, null if disabled
+    List<TickThread> stealTargets;
 
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
@@ -40,13 +54,26 @@ public final class TickThread extends MinestomThread {
     public void run() {
         LockSupport.park(this);
         while (!stop) {
-            this.lock.lock();
-            try {
-                tick();
-            } catch (Exception e) {
-                MinecraftServer.getExceptionManager().handleException(e);
+            final Runnable task = this.task;
+            if (task != null) {
+                this.task = null;
+                // Elements of this thread are considered owned during the task
+                this.lock.lock();
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+                this.lock.unlock();
+            } else {
+                this.lock.lock();
+                try {
+                    tick();
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+                this.lock.unlock();
             }
-            this.lock.unlock();
             // #acquire() callbacks
             this.latch.countDown();
             LockSupport.park(this);
@@ -54,39 +81,99 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
-        final ReentrantLock lock = this.lock;
-        final long tickTime = this.tickTime;
+        final List<TickThread> stealTargets = this.stealTargets;
+        if (stealTargets == null) {
+            for (ThreadDispatcher.Partition entry : entries) {
+                assert entry.thread() == this;
+                tickPartition(entry);
+            }
+            return;
+        }
+        // Work-stealing, every partition has to be claimed before being ticked
+        final long tickId = this.tickId;
         for (ThreadDispatcher.Partition entry : entries) {
-            assert entry.thread() == this;
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    lock.unlock();
-                    // #acquire() callbacks should be called here
-                    lock.lock();
-                }
+            if (entry.claim(tickId)) tickPartition(entry);
+        }
+        // Steal the remaining partitions of other threads, cheapest first
+        final int size = stealTargets.size();
+        final int index = stealTargets.indexOf(this);
+        for (int i = 1; i < size; i++) {
+            final TickThread victim = stealTargets.get((index + i) % size);
+            final List<ThreadDispatcher.Partition> victimEntries = victim.entries;
+            for (int j = victimEntries.size() - 1; j >= 0; j--) {
+                final ThreadDispatcher.Partition entry = victimEntries.get(j);
+                if (!entry.claim(tickId)) continue;
+                // Ensure that the victim is not using the partition elements while they change owner
+                final ReentrantLock victimLock = AcquirableImpl.enter(this, victim);
                 try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
+                    entry.moveTo(this);
+                } finally {
+                    AcquirableImpl.leave(victimLock);
                 }
+                tickPartition(entry);
+            }
+        }
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
+        final List<Tickable> elements = entry.elements();
+        if (elements.isEmpty()) {
+            entry.updateTickCost(0);
+            return;
+        }
+        final ReentrantLock lock = this.lock;
+        final long tickTime = this.tickTime;
+        final long start = System.nanoTime();
+        final PhysicsBatch physicsBatch = this.physicsBatch;
+        if (physicsBatch != null) {
+            for (Tickable element : elements) {
+                if (element instanceof Entity entity) entity.preparePhysics(physicsBatch);
+            }
+            try {
+                physicsBatch.process();
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
             }
         }
+        for (Tickable element : elements) {
+            if (lock.hasQueuedThreads()) {
+                lock.unlock();
+                // #acquire() callbacks should be called here
+                lock.lock();
+            }
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        entry.updateTickCost(System.nanoTime() - start);
     }
 
-    void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+    void startTick(CountDownLatch latch, long tickTime, long tickId) {
+        if (entries.isEmpty() && stealTargets == null) {
             // Nothing to tick
             latch.countDown();
             return;
         }
         this.latch = latch;
         this.tickTime = tickTime;
+        this.tickId = tickId;
+        this.stop = false;
+        LockSupport.unpark(this);
+    }
+
+    void startTask(CountDownLatch latch, Runnable task) {
+        this.latch = latch;
+        this.task = task;
         this.stop = false;
         LockSupport.unpark(this);
     }
 
+    void sortEntries() {
+        this.entries.sort(COST_ORDER);
+    }
+
     public Collection<ThreadDispatcher.Partition> entries() {
         return entries;
     }
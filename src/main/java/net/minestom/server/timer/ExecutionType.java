@@ -1,6 +1,16 @@
 package net.minestom.server.timer;
 
 public enum ExecutionType {
+    /**
+     * Executed in the thread processing the scheduler.
+     */
     SYNC,
-    ASYNC
+    /**
+     * Executed in the compute pool, for CPU-bound work.
+     */
+    ASYNC,
+    /**
+     * Executed in a virtual thread when supported by the runtime, for blocking work.
+     */
+    VIRTUAL
 }
@@ -1,31 +1,24 @@
 package net.minestom.server.timer;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import net.minestom.server.thread.MinestomExecutors;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
-import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 final class SchedulerImpl implements Scheduler {
     private static final AtomicInteger TASK_COUNTER = new AtomicInteger();
-    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread thread = new Thread(r);
-        thread.setDaemon(true);
-        return thread;
-    });
-    private static final ForkJoinPool EXECUTOR = ForkJoinPool.commonPool();
+    private static final int TICK_WHEEL_SIZE = 256;
+    private static final int TIME_WHEEL_SIZE = 1024; // Milliseconds
 
     private final MpscUnboundedArrayQueue<TaskImpl> taskQueue = new MpscUnboundedArrayQueue<>(64);
+    // Tasks waiting to be inserted in a wheel, can be filled from any thread
+    private final MpscUnboundedArrayQueue<TaskImpl> scheduleQueue = new MpscUnboundedArrayQueue<>(64);
     // Tasks scheduled on a certain tick
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickTaskQueue = new Int2ObjectAVLTreeMap<>();
+    private final TimingWheel tickWheel = new TimingWheel(TICK_WHEEL_SIZE, 0);
+    // Tasks scheduled after a duration, expired when the scheduler is processed
+    private final TimingWheel timeWheel = new TimingWheel(TIME_WHEEL_SIZE, currentMillis());
 
     private int tickState;
 
@@ -40,21 +33,19 @@ final class SchedulerImpl implements Scheduler {
     }
 
     private void processTick(int tickDelta) {
-        synchronized (this) {
-            this.tickState += tickDelta;
-            int tickToProcess;
-            while (!tickTaskQueue.isEmpty() && (tickToProcess = tickTaskQueue.firstIntKey()) <= tickState) {
-                final List<TaskImpl> tickScheduledTasks = tickTaskQueue.remove(tickToProcess);
-                if (tickScheduledTasks != null) tickScheduledTasks.forEach(taskQueue::relaxedOffer);
-            }
-        }
+        // Insert the tasks scheduled since the last process, tick delays are relative to the current tick
+        if (!scheduleQueue.isEmpty()) this.scheduleQueue.drain(this::insert);
+        this.tickState += tickDelta;
+        // Expire in batch
+        this.tickWheel.advance(tickState, taskQueue::relaxedOffer);
+        this.timeWheel.advance(currentMillis(), taskQueue::relaxedOffer);
         // Run all tasks lock-free, either in the current thread or pool
         if (!taskQueue.isEmpty()) {
             this.taskQueue.drain(task -> {
                 if (!task.isAlive()) return;
                 switch (task.executionType()) {
                     case SYNC -> handleTask(task);
-                    case ASYNC -> EXECUTOR.submit(() -> handleTask(task));
+                    case ASYNC, VIRTUAL -> MinestomExecutors.of(task.executionType()).execute(() -> handleTask(task));
                 }
             });
         }
@@ -79,7 +70,7 @@ final class SchedulerImpl implements Scheduler {
         // By either adding the task to the execution queue or submitting it to the pool
         switch (task.executionType()) {
             case SYNC -> taskQueue.offer(task);
-            case ASYNC -> EXECUTOR.submit(() -> {
+            case ASYNC, VIRTUAL -> MinestomExecutors.of(task.executionType()).execute(() -> {
                 if (!task.isAlive()) {
                     return;
                 }
@@ -91,13 +82,13 @@ final class SchedulerImpl implements Scheduler {
     private void handleTask(TaskImpl task) {
         final TaskSchedule schedule = task.task().get();
         if (schedule instanceof TaskScheduleImpl.DurationSchedule durationSchedule) {
-            final Duration duration = durationSchedule.duration();
-            SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
+            task.deadline = currentMillis() + durationSchedule.duration().toMillis();
+            task.timed = true;
+            this.scheduleQueue.relaxedOffer(task);
         } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
-            synchronized (this) {
-                final int target = tickState + tickSchedule.tick();
-                this.tickTaskQueue.computeIfAbsent(target, i -> new ArrayList<>()).add(task);
-            }
+            task.deadline = tickSchedule.tick();
+            task.timed = false;
+            this.scheduleQueue.relaxedOffer(task);
         } else if (schedule instanceof TaskScheduleImpl.FutureSchedule futureSchedule) {
             futureSchedule.future().thenRun(() -> safeExecute(task));
         } else if (schedule instanceof TaskScheduleImpl.Park) {
@@ -108,4 +99,18 @@ final class SchedulerImpl implements Scheduler {
             this.taskQueue.relaxedOffer(task);
         }
     }
+
+    private void insert(TaskImpl task) {
+        if (!task.isAlive()) return;
+        if (task.timed) {
+            // Expire late rather than never
+            this.timeWheel.add(task, Math.max(task.deadline, timeWheel.time() + 1));
+        } else {
+            this.tickWheel.add(task, tickState + task.deadline);
+        }
+    }
+
+    private static long currentMillis() {
+        return System.nanoTime() / 1_000_000;
+    }
 }
@@ -26,6 +26,11 @@ final class TaskImpl implements Task {
     volatile boolean alive;
     volatile boolean parked;
 
+    // Scheduling state, published to the processing thread by SchedulerImpl#scheduleQueue
+    // Delay in ticks or deadline in milliseconds before insertion, then the wheel deadline
+    long deadline;
+    boolean timed;
+
     TaskImpl(int id,
              @NotNull Supplier<TaskSchedule> task,
              @NotNull ExecutionType executionType,
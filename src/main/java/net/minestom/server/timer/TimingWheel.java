@@ -0,0 +1,82 @@
+package net.minestom.server.timer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel storing tasks by deadline, in an arbitrary time unit.
+ * <p>
+ * Tasks are added to the slot of their deadline in constant time, deadlines further than the wheel size
+ * stay in their slot until the matching round. Cancelled tasks are dropped once their slot is visited.
+ * <p>
+ * Not thread-safe, only accessed by the thread processing the owning scheduler.
+ */
+final class TimingWheel {
+    private final List<TaskImpl>[] slots;
+    private final int mask;
+    private long time;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(int size, long time) {
+        if (Integer.bitCount(size) != 1)
+            throw new IllegalArgumentException("Wheel size must be a power of two (" + size + ")");
+        this.slots = new List[size];
+        for (int i = 0; i < size; i++) slots[i] = new ArrayList<>();
+        this.mask = size - 1;
+        this.time = time;
+    }
+
+    /**
+     * Gets the time up to which the tasks have been expired.
+     *
+     * @return the last time given to {@link #advance(long, Consumer)}
+     */
+    long time() {
+        return time;
+    }
+
+    /**
+     * Adds a task to the wheel.
+     *
+     * @param task     the task to add
+     * @param deadline the time at which the task expires, must be after {@link #time()}
+     */
+    void add(@NotNull TaskImpl task, long deadline) {
+        assert deadline > time;
+        task.deadline = deadline;
+        this.slots[(int) (deadline & mask)].add(task);
+    }
+
+    /**
+     * Expires all the tasks with a deadline up to {@code time}.
+     *
+     * @param time    the new wheel time
+     * @param expired the consumer of the expired tasks, must not add tasks to this wheel
+     */
+    void advance(long time, @NotNull Consumer<TaskImpl> expired) {
+        final long previous = this.time;
+        if (time <= previous) return;
+        // Visit every slot at most once
+        final long steps = Math.min(time - previous, slots.length);
+        for (long i = 1; i <= steps; i++) {
+            final List<TaskImpl> slot = slots[(int) ((previous + i) & mask)];
+            if (slot.isEmpty()) continue;
+            int kept = 0;
+            for (int j = 0; j < slot.size(); j++) {
+                final TaskImpl task = slot.get(j);
+                if (!task.isAlive()) continue;
+                if (task.deadline <= time) {
+                    expired.accept(task);
+                } else {
+                    // Later round
+                    slot.set(kept++, task);
+                }
+            }
+            slot.subList(kept, slot.size()).clear();
+        }
+        this.time = time;
+    }
+}
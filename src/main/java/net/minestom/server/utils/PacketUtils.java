@@ -21,6 +21,7 @@ import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.thread.ThreadDispatcher;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -29,6 +30,7 @@ import org.jetbrains.annotations.Nullable;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
@@ -186,6 +188,19 @@ public final class PacketUtils {
         }
     }
 
+    /**
+     * Flushes the viewable packets using the threads of {@code dispatcher}.
+     *
+     * @param dispatcher the dispatcher to run the flush on, must not be ticking
+     */
+    @ApiStatus.Internal
+    public static void flush(@NotNull ThreadDispatcher<?> dispatcher) {
+        if (VIEWABLE_PACKET) {
+            dispatcher.forEachParallel(List.copyOf(VIEWABLE_STORAGE_MAP.asMap().entrySet()),
+                    entry -> entry.getValue().process(entry.getKey()));
+        }
+    }
+
     @ApiStatus.Internal
     public static @Nullable BinaryBuffer readPackets(@NotNull BinaryBuffer readBuffer, boolean compressed,
                                                      BiConsumer<Integer, ByteBuffer> payloadConsumer) throws DataFormatException {
@@ -326,9 +341,12 @@ public final class PacketUtils {
                 final int packetSize = framedPacket.limit();
                 if (packetSize >= buffer.capacity()) {
                     process(viewable);
+                    // Connections may reference the buffer until it is flushed, the pooled one cannot be shared
+                    // Short-lived, allocated on the heap as direct allocations are expensive to create and release
+                    final ByteBuffer copy = ByteBuffer.allocate(packetSize).put(0, framedPacket, 0, packetSize);
                     for (Player viewer : viewable.getViewers()) {
                         if (!Objects.equals(player, viewer)) {
-                            writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
+                            writeTo(viewer.getPlayerConnection(), copy, 0, packetSize);
                         }
                     }
                     return;
@@ -347,7 +365,7 @@ public final class PacketUtils {
 
         private synchronized void process(Viewable viewable) {
             if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
+            ByteBuffer copy = ByteBuffer.allocate(buffer.writerOffset());
             copy.put(buffer.asByteBuffer(0, copy.capacity()));
             viewable.getViewers().forEach(player -> processPlayer(player, copy));
             this.buffer.clear();
@@ -8,6 +8,7 @@ import net.minestom.server.entity.EntityType;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
 import org.jetbrains.annotations.NotNull;
@@ -15,9 +16,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class EntityBlockTouchTickIntegrationTest {
@@ -195,4 +196,71 @@ public class EntityBlockTouchTickIntegrationTest {
 
         assertEquals(instance, entity.getInstance());
     }
+
+    @Test
+    public void entityTouchTickUnmoved(Env env) {
+        var instance = env.createFlatInstance();
+
+        AtomicInteger touches = new AtomicInteger();
+        var handler = new BlockHandler() {
+            @Override
+            public void onTouch(@NotNull Touch touch) {
+                touches.incrementAndGet();
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:test");
+            }
+        };
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setInstance(instance, new Pos(0, 42, 0.7)).join();
+
+        // Nothing to touch, the next ticks can skip the check
+        entity.tick(0);
+        entity.tick(0);
+        assertEquals(0, touches.get());
+
+        // Placing a touchable block must be noticed without moving
+        instance.setBlock(0, 42, 1, Block.STONE.withHandler(handler));
+        entity.tick(0);
+        assertEquals(1, touches.get());
+        entity.tick(0);
+        assertEquals(2, touches.get());
+
+        instance.setBlock(0, 42, 1, Block.AIR);
+        entity.tick(0);
+        assertEquals(2, touches.get());
+    }
+
+    @Test
+    public void touchableEntries(Env env) {
+        var instance = env.createFlatInstance();
+        var touchHandler = new BlockHandler() {
+            @Override
+            public void onTouch(@NotNull Touch touch) {
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:touch");
+            }
+        };
+        var otherHandler = new BlockHandler() {
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:other");
+            }
+        };
+        instance.setBlock(0, 42, 0, Block.STONE.withHandler(touchHandler));
+        instance.setBlock(1, 42, 0, Block.STONE.withHandler(otherHandler));
+
+        var chunk = instance.getChunk(0, 0);
+        assertNotNull(chunk);
+        assertEquals(2, chunk.getEntries().size());
+        assertEquals(1, chunk.getTouchableEntries().size());
+        assertTrue(chunk.getTouchableEntries().containsKey(ChunkUtils.getBlockIndex(0, 42, 0)));
+    }
 }
@@ -0,0 +1,123 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class EntityCollisionIntegrationTest {
+    @Test
+    public void push(Env env) {
+        var instance = env.createFlatInstance();
+        var first = new Entity(EntityType.ZOMBIE);
+        var second = new Entity(EntityType.ZOMBIE);
+        first.setCollisionGroups(1);
+        second.setCollisionGroups(1);
+        first.setInstance(instance, new Pos(0.2, 40, 0.5)).join();
+        second.setInstance(instance, new Pos(0.6, 40, 0.5)).join();
+
+        new EntityCollision().tick(List.of(first, second));
+
+        // Pushed away from each other along the X axis
+        assertTrue(first.getVelocity().x() < 0);
+        assertTrue(second.getVelocity().x() > 0);
+        assertEquals(-first.getVelocity().x(), second.getVelocity().x(), 1e-9);
+        assertEquals(0, first.getVelocity().z());
+    }
+
+    @Test
+    public void participants(Env env) {
+        var instance = env.createFlatInstance();
+        var first = new Entity(EntityType.ZOMBIE);
+        var second = new Entity(EntityType.ZOMBIE);
+        first.setCollisionGroups(1);
+        first.setInstance(instance, new Pos(0.2, 40, 0.5)).join();
+        second.setInstance(instance, new Pos(0.6, 40, 0.5)).join();
+
+        // Second is not tracked until it gets collision groups
+        instance.entityCollision().tick();
+        assertEquals(Vec.ZERO, first.getVelocity());
+
+        second.setCollisionGroups(1);
+        instance.entityCollision().tick();
+        assertTrue(first.getVelocity().x() < 0);
+        assertTrue(second.getVelocity().x() > 0);
+
+        // Opting out or leaving the instance stops the collisions
+        first.setVelocity(Vec.ZERO);
+        second.setCollisionGroups(0);
+        instance.entityCollision().tick();
+        assertEquals(Vec.ZERO, first.getVelocity());
+
+        second.setCollisionGroups(1);
+        second.remove();
+        instance.entityCollision().tick();
+        assertEquals(Vec.ZERO, first.getVelocity());
+    }
+
+    @Test
+    public void groups(Env env) {
+        var instance = env.createFlatInstance();
+        var first = new Entity(EntityType.ZOMBIE);
+        var second = new Entity(EntityType.ZOMBIE);
+        var disabled = new Entity(EntityType.ZOMBIE);
+        first.setCollisionGroups(0b01);
+        second.setCollisionGroups(0b10);
+        first.setCollisionMask(0b01);
+        first.setInstance(instance, new Pos(0.2, 40, 0.5)).join();
+        second.setInstance(instance, new Pos(0.6, 40, 0.5)).join();
+        disabled.setInstance(instance, new Pos(0.4, 40, 0.5)).join();
+
+        // First does not collide with the second group, the third entity does not collide at all
+        new EntityCollision().tick(List.of(first, second, disabled));
+        assertEquals(Vec.ZERO, first.getVelocity());
+        assertEquals(Vec.ZERO, second.getVelocity());
+        assertEquals(Vec.ZERO, disabled.getVelocity());
+
+        first.setCollisionMask(-1);
+        new EntityCollision().tick(List.of(first, second, disabled));
+        assertTrue(first.getVelocity().x() < 0);
+        assertTrue(second.getVelocity().x() > 0);
+        assertEquals(Vec.ZERO, disabled.getVelocity());
+    }
+
+    @Test
+    public void crowd(Env env) {
+        var instance = env.createFlatInstance();
+        List<Entity> entities = new ArrayList<>();
+        // Grid spanning multiple cells, each entity overlaps its neighbours
+        for (int x = 0; x < 10; x++) {
+            for (int z = 0; z < 10; z++) {
+                var entity = new Entity(EntityType.ZOMBIE);
+                entity.setCollisionGroups(1);
+                entity.setInstance(instance, new Pos(x * 0.5, 40, z * 0.5)).join();
+                entities.add(entity);
+            }
+        }
+        new EntityCollision().tick(entities);
+
+        // Symmetric pushes cancel out, the crowd spreads from its center
+        double totalX = 0, totalZ = 0;
+        for (Entity entity : entities) {
+            totalX += entity.getVelocity().x();
+            totalZ += entity.getVelocity().z();
+        }
+        assertEquals(0, totalX, 1e-9);
+        assertEquals(0, totalZ, 1e-9);
+        assertTrue(entities.get(0).getVelocity().x() < 0);
+        assertTrue(entities.get(entities.size() - 1).getVelocity().x() > 0);
+        // Each pair is resolved once, corner entities have 3 overlapping neighbours
+        final Vec corner = entities.get(0).getVelocity();
+        assertEquals(-Math.sqrt(2), corner.x(), 1e-9);
+        assertEquals(-Math.sqrt(2), corner.z(), 1e-9);
+    }
+}
@@ -0,0 +1,54 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class PhysicsBatchIntegrationTest {
+    @Test
+    public void sameAsEntityPhysics(Env env) {
+        var instance = env.createFlatInstance();
+        var batchedInstance = env.createFlatInstance();
+        for (Instance i : new Instance[]{instance, batchedInstance}) {
+            for (int x = -2; x <= 2; x++) {
+                for (int z = -2; z <= 2; z++) i.loadChunk(x, z).join();
+            }
+            i.setBlock(3, 41, 0, Block.STONE);
+            i.setBlock(0, 40, 4, Block.ICE);
+        }
+
+        Entity[] entities = new Entity[]{new Entity(EntityType.ZOMBIE), new Entity(EntityType.ITEM)};
+        Entity[] batchedEntities = new Entity[]{new Entity(EntityType.ZOMBIE), new Entity(EntityType.ITEM)};
+        final Pos[] spawns = new Pos[]{new Pos(0, 40, 0), new Pos(0.5, 45, 0.5)};
+        final Vec[] velocities = new Vec[]{new Vec(10, 8, 0), new Vec(0, 0, 12)};
+        for (int i = 0; i < entities.length; i++) {
+            entities[i].setInstance(instance, spawns[i]).join();
+            batchedEntities[i].setInstance(batchedInstance, spawns[i]).join();
+            entities[i].setVelocity(velocities[i]);
+            batchedEntities[i].setVelocity(velocities[i]);
+        }
+
+        PhysicsBatch batch = new PhysicsBatch();
+        for (int tick = 0; tick < 40; tick++) {
+            for (Entity entity : batchedEntities) entity.preparePhysics(batch);
+            batch.process();
+            assertEquals(0, batch.size());
+            for (int i = 0; i < entities.length; i++) {
+                entities[i].tick(tick);
+                batchedEntities[i].tick(tick);
+                assertEquals(entities[i].getPosition(), batchedEntities[i].getPosition());
+                assertEquals(entities[i].getVelocity(), batchedEntities[i].getVelocity());
+                assertEquals(entities[i].isOnGround(), batchedEntities[i].isOnGround());
+            }
+        }
+    }
+}
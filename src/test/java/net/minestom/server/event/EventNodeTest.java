@@ -11,6 +11,8 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -274,4 +276,77 @@ public class EventNodeTest {
         mapped = null;
         waitUntilCleared(ref);
     }
+
+    @Test
+    public void callIfListened() {
+        var node = EventNode.all("main");
+        var handle = node.getHandle(EventTest.class);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger called = new AtomicInteger();
+        assertNull(EventDispatcher.callIfListened(handle, () -> {
+            created.incrementAndGet();
+            return new EventTest();
+        }));
+        assertEquals(0, created.get(), "The event should not be created without listener");
+
+        node.addListener(EventTest.class, event -> called.incrementAndGet());
+        assertNotNull(EventDispatcher.callIfListened(handle, () -> {
+            created.incrementAndGet();
+            return new EventTest();
+        }));
+        assertEquals(1, created.get());
+        assertEquals(1, called.get());
+    }
+
+    @Test
+    public void compiledDispatch() {
+        List<String> calls = new ArrayList<>();
+        var defaultNodes = valueTree(calls);
+        final boolean previous = EventNodeImpl.compiledDispatch;
+        EventNodeImpl.compiledDispatch = true;
+        final List<EventNode<Event>> compiledNodes;
+        try {
+            compiledNodes = valueTree(calls);
+        } finally {
+            EventNodeImpl.compiledDispatch = previous;
+        }
+        var defaultHandle = defaultNodes.get(0).getHandle(ValueEvent.class);
+        var compiledHandle = compiledNodes.get(0).getHandle(ValueEvent.class);
+        for (int value = 0; value < 2; value++) {
+            final ValueEvent event = new ValueEvent(value);
+            calls.clear();
+            defaultHandle.call(event);
+            final List<String> expected = List.copyOf(calls);
+            calls.clear();
+            compiledHandle.call(event);
+            assertEquals(expected, calls);
+        }
+        assertEquals(List.of("main", "first", "odd", "odd-child"), calls);
+
+        // Subtree invalidation
+        compiledNodes.get(1).addListener(ValueEvent.class, event -> calls.add("odd-child-2"));
+        calls.clear();
+        compiledHandle.call(new ValueEvent(1));
+        assertEquals(List.of("main", "first", "odd", "odd-child", "odd-child-2"), calls);
+        assertFalse(compiledNodes.get(0).getHandle(Recursive1.class).hasListener());
+    }
+
+    record ValueEvent(int value) implements Event {
+    }
+
+    private static List<EventNode<Event>> valueTree(List<String> calls) {
+        var node = EventNode.all("main");
+        node.addListener(ValueEvent.class, event -> calls.add("main"));
+        var odd = EventNode.event("odd", EventFilter.ALL, event -> event instanceof ValueEvent value && value.value() % 2 == 1);
+        odd.addListener(ValueEvent.class, event -> calls.add("odd"));
+        var oddChild = EventNode.all("odd-child");
+        oddChild.addListener(ValueEvent.class, event -> calls.add("odd-child"));
+        odd.addChild(oddChild);
+        var empty = EventNode.all("empty");
+        empty.addListener(EventTest.class, event -> calls.add("empty"));
+        var first = EventNode.all("first").setPriority(-1);
+        first.addListener(ValueEvent.class, event -> calls.add("first"));
+        node.addChild(odd).addChild(empty).addChild(first);
+        return List.of(node, oddChild);
+    }
 }
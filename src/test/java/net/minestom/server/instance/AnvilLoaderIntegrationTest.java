@@ -182,6 +182,22 @@ public class AnvilLoaderIntegrationTest {
         env.destroyInstance(instance);
     }
 
+    @Test
+    public void parallelLoading(Env env) {
+        AnvilLoader chunkLoader = new AnvilLoader(worldFolder);
+        Instance instance = env.createFlatInstance(chunkLoader);
+        instance.loadChunk(-1, -1).join();
+        assertEquals(Block.OAK_PLANKS, instance.getBlock(-1, 1, -3));
+        assertEquals(Block.POTTED_POPPY, instance.getBlock(-1, 2, -3));
+
+        var metrics = chunkLoader.metrics();
+        assertEquals(0, metrics.queueDepth());
+        assertEquals(1, metrics.reads());
+        assertEquals(1, metrics.openRegions());
+
+        env.destroyInstance(instance);
+    }
+
     @AfterAll
     public static void cleanupTest() throws IOException {
         Files.walkFileTree(worldFolder, new SimpleFileVisitor<>() {
@@ -0,0 +1,32 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class ChunkPacketCacheIntegrationTest {
+
+    @Test
+    public void revision(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+
+        var statsBefore = ChunkPacketCache.stats();
+        var body = chunk.chunkCache.body();
+        assertNotNull(body);
+        // Simulate the soft reference being cleared, the packet should come from the shared cache
+        chunk.chunkCache.invalidate();
+        assertSame(body, chunk.chunkCache.body());
+        var statsAfter = ChunkPacketCache.stats();
+        assertEquals(statsBefore.hits() + 1, statsAfter.hits());
+        assertEquals(statsBefore.misses() + 1, statsAfter.misses());
+
+        // Modifications must not reuse the previous revision
+        instance.setBlock(0, 50, 0, Block.STONE);
+        assertNotSame(body, chunk.chunkCache.body());
+    }
+}
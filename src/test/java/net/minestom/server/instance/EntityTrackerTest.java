@@ -1,13 +1,13 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -216,6 +216,148 @@ public class EntityTrackerTest {
         assertEquals(0, entities.size());
     }
 
+    @Test
+    public void spatialIndex() {
+        EntityTracker indexed = new EntityTrackerImpl(true);
+        EntityTracker tracker = new EntityTrackerImpl(false);
+        Random random = new Random(42);
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            var entity = new Entity(i % 3 == 0 ? EntityType.ITEM : EntityType.ZOMBIE);
+            final Vec position = new Vec(random.nextDouble(-40, 40), random.nextDouble(-20, 60), random.nextDouble(-40, 40));
+            indexed.register(entity, position, EntityTracker.Target.ENTITIES, null);
+            tracker.register(entity, position, EntityTracker.Target.ENTITIES, null);
+            entities.add(entity);
+        }
+        // Moves inside and across cells, removals
+        for (int i = 0; i < 100; i++) {
+            final Entity entity = entities.get(i);
+            final Vec position = new Vec(random.nextDouble(-40, 40), random.nextDouble(-20, 60), random.nextDouble(-40, 40));
+            indexed.move(entity, position, EntityTracker.Target.ENTITIES, null);
+            tracker.move(entity, position, EntityTracker.Target.ENTITIES, null);
+        }
+        for (int i = 100; i < 120; i++) {
+            indexed.unregister(entities.get(i), EntityTracker.Target.ENTITIES, null);
+            tracker.unregister(entities.get(i), EntityTracker.Target.ENTITIES, null);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            final Vec point = new Vec(random.nextDouble(-40, 40), random.nextDouble(-20, 60), random.nextDouble(-40, 40));
+            final double range = random.nextDouble(1, 20);
+            for (var target : List.of(EntityTracker.Target.ENTITIES, EntityTracker.Target.LIVING_ENTITIES)) {
+                Set<Entity> expected = new HashSet<>();
+                Set<Entity> result = new HashSet<>();
+                tracker.nearbyEntities(point, range, target, expected::add);
+                indexed.nearbyEntities(point, range, target, entity -> assertTrue(result.add(entity)));
+                assertEquals(expected, result);
+
+                final Vec max = point.add(range);
+                expected.clear();
+                result.clear();
+                tracker.entitiesInBox(point, max, target, expected::add);
+                indexed.entitiesInBox(point, max, target, entity -> assertTrue(result.add(entity)));
+                assertEquals(expected, result);
+            }
+        }
+
+        // Queries can be nested
+        Set<Entity> nested = new HashSet<>();
+        indexed.nearbyEntities(Vec.ZERO, 20, EntityTracker.Target.ENTITIES, entity ->
+                indexed.nearbyEntities(Vec.ZERO, 20, EntityTracker.Target.ENTITIES, nested::add));
+        Set<Entity> expected = new HashSet<>();
+        tracker.nearbyEntities(Vec.ZERO, 20, EntityTracker.Target.ENTITIES, expected::add);
+        assertEquals(expected, nested);
+    }
+
+    @Test
+    public void spatialIndexRaytrace() {
+        EntityTracker tracker = new EntityTrackerImpl(true);
+        var onRay = new Entity(EntityType.ZOMBIE);
+        var below = new Entity(EntityType.ZOMBIE);
+        var above = new Entity(EntityType.ZOMBIE);
+        tracker.register(onRay, new Vec(20, 40, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(below, new Vec(30, 38.5, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(above, new Vec(20, 100, 0), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> candidates = new HashSet<>();
+        tracker.raytraceCandidates(new Vec(0, 40.5, 0), new Vec(40, 40.5, 0), EntityTracker.Target.ENTITIES, candidates::add);
+        assertEquals(Set.of(onRay, below), candidates);
+    }
+
+    @Test
+    public void queryBuffer() {
+        for (boolean index : new boolean[]{false, true}) {
+            EntityTracker tracker = new EntityTrackerImpl(index);
+            Random random = new Random(42);
+            Map<Entity, Vec> positions = new HashMap<>();
+            for (int i = 0; i < 200; i++) {
+                var entity = new Entity(i % 3 == 0 ? EntityType.ITEM : EntityType.ZOMBIE);
+                final Vec position = new Vec(random.nextDouble(-40, 40), random.nextDouble(-20, 60), random.nextDouble(-40, 40));
+                tracker.register(entity, position, EntityTracker.Target.ENTITIES, null);
+                positions.put(entity, position);
+            }
+            // Reused between the queries
+            EntityQueryBuffer buffer = new EntityQueryBuffer(1);
+            for (int i = 0; i < 50; i++) {
+                final Vec point = new Vec(random.nextDouble(-40, 40), random.nextDouble(-20, 60), random.nextDouble(-40, 40));
+                final double range = random.nextDouble(1, 40);
+                Set<Entity> expected = new HashSet<>();
+                tracker.nearbyEntities(point, range, EntityTracker.Target.ENTITIES, expected::add);
+                assertEquals(expected.size(), tracker.nearbyEntities(point, range, EntityTracker.Target.ENTITIES, null, buffer));
+                assertEquals(expected, bufferEntities(buffer));
+
+                expected.removeIf(entity -> entity.getEntityType() != EntityType.ITEM);
+                tracker.nearbyEntities(point, range, EntityTracker.Target.ENTITIES, EntityType.ITEM, buffer);
+                assertEquals(expected, bufferEntities(buffer));
+
+                // Nearest, sorted by distance
+                Set<Entity> all = new HashSet<>();
+                tracker.nearbyEntities(point, range, EntityTracker.Target.ENTITIES, all::add);
+                final int count = tracker.nearestEntities(point, range, 5, EntityTracker.Target.ENTITIES, null, buffer);
+                assertEquals(Math.min(5, all.size()), count);
+                for (int j = 1; j < count; j++) {
+                    assertTrue(buffer.distanceSquared(j - 1) <= buffer.distanceSquared(j));
+                }
+                if (count > 0) {
+                    final double furthest = buffer.distanceSquared(count - 1);
+                    final long closer = all.stream()
+                            .filter(entity -> positions.get(entity).distanceSquared(point) < furthest).count();
+                    assertTrue(closer < count);
+                }
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> buffer.entity(buffer.size()));
+            buffer.clear();
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void queryBufferIntersecting() {
+        for (boolean index : new boolean[]{false, true}) {
+            EntityTracker tracker = new EntityTrackerImpl(index);
+            var inside = new Entity(EntityType.ZOMBIE);
+            var touching = new Entity(EntityType.ZOMBIE);
+            var outside = new Entity(EntityType.ZOMBIE);
+            tracker.register(inside, new Vec(0, 0, 0), EntityTracker.Target.ENTITIES, null);
+            // Zombie is 0.6 wide, overlaps the box by 0.1
+            tracker.register(touching, new Vec(1.2, 0, 0), EntityTracker.Target.ENTITIES, null);
+            tracker.register(outside, new Vec(2, 0, 0), EntityTracker.Target.ENTITIES, null);
+
+            EntityQueryBuffer buffer = new EntityQueryBuffer();
+            tracker.intersectingEntities(Vec.ZERO, new BoundingBox(2, 2, 2), EntityTracker.Target.ENTITIES, null, buffer);
+            assertEquals(Set.of(inside, touching), bufferEntities(buffer));
+        }
+    }
+
+    private static Set<Entity> bufferEntities(EntityQueryBuffer buffer) {
+        Set<Entity> entities = new HashSet<>();
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(buffer.entity(i).getEntityId(), buffer.entityId(i));
+            assertTrue(entities.add(buffer.entity(i)));
+        }
+        return entities;
+    }
+
     @Test
     public void collectionView() {
         var ent1 = new Entity(EntityType.ZOMBIE);
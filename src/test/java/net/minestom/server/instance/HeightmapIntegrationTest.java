@@ -0,0 +1,52 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        synchronized (chunk) {
+            for (Heightmap.Type type : Heightmap.Type.values()) {
+                assertEquals(40, chunk.heightmap(type).getHeight(0, 0), type.name());
+                assertEquals(40, chunk.heightmap(type).getHeight(15, 15), type.name());
+            }
+        }
+    }
+
+    @Test
+    public void update(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        synchronized (chunk) {
+            // Force the initial computation
+            chunk.heightmap(Heightmap.Type.WORLD_SURFACE);
+
+            chunk.setBlock(1, 60, 2, Block.STONE);
+            assertEquals(61, chunk.heightmap(Heightmap.Type.WORLD_SURFACE).getHeight(1, 2));
+            assertEquals(61, chunk.heightmap(Heightmap.Type.OCEAN_FLOOR).getHeight(1, 2));
+
+            chunk.setBlock(1, 70, 2, Block.WATER);
+            assertEquals(71, chunk.heightmap(Heightmap.Type.WORLD_SURFACE).getHeight(1, 2));
+            assertEquals(71, chunk.heightmap(Heightmap.Type.MOTION_BLOCKING).getHeight(1, 2));
+            assertEquals(61, chunk.heightmap(Heightmap.Type.OCEAN_FLOOR).getHeight(1, 2));
+
+            chunk.setBlock(1, 70, 2, Block.AIR);
+            chunk.setBlock(1, 60, 2, Block.AIR);
+            for (Heightmap.Type type : Heightmap.Type.values()) {
+                assertEquals(40, chunk.heightmap(type).getHeight(1, 2), type.name());
+            }
+
+            chunk.setBlock(1, 39, 2, Block.AIR);
+            assertEquals(39, chunk.heightmap(Heightmap.Type.WORLD_SURFACE).getHeight(1, 2));
+        }
+    }
+}
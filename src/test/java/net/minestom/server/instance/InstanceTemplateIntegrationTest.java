@@ -0,0 +1,68 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class InstanceTemplateIntegrationTest {
+
+    @Test
+    public void copyOnWrite(Env env) {
+        var source = env.createFlatInstance();
+        source.loadChunk(0, 0).join();
+        source.loadChunk(1, 0).join();
+        source.setBlock(0, 41, 0, Block.CHEST.withTag(Tag.String("name"), "value"));
+        var template = InstanceTemplate.of(source);
+        assertEquals(2, template.getChunkCount());
+        // Not part of the template
+        source.setBlock(1, 41, 0, Block.DIRT);
+
+        var first = template.createInstance();
+        var second = template.createInstance();
+        env.process().instance().registerInstance(first);
+        env.process().instance().registerInstance(second);
+        first.loadChunk(0, 0).join();
+        second.loadChunk(0, 0).join();
+        assertEquals("value", first.getBlock(0, 41, 0).getTag(Tag.String("name")));
+        assertEquals(Block.STONE, first.getBlock(0, 39, 0));
+        assertEquals(Block.AIR, first.getBlock(1, 41, 0));
+
+        // Modifications are only visible in their instance
+        first.setBlock(2, 41, 0, Block.GOLD_BLOCK);
+        assertEquals(Block.GOLD_BLOCK, first.getBlock(2, 41, 0));
+        assertEquals(Block.AIR, second.getBlock(2, 41, 0));
+
+        // Chunks not in the template are generated
+        assertNull(template.loadChunk(first, 5, 5).join());
+
+        env.destroyInstance(first);
+        env.destroyInstance(second);
+    }
+
+    @Test
+    public void sharedPackets(Env env) {
+        var source = env.createFlatInstance();
+        source.loadChunk(0, 0).join();
+        var template = InstanceTemplate.of(source);
+        var first = template.createInstance();
+        var second = template.createInstance();
+        env.process().instance().registerInstance(first);
+        env.process().instance().registerInstance(second);
+        var firstChunk = (DynamicChunk) first.loadChunk(0, 0).join();
+        var secondChunk = (DynamicChunk) second.loadChunk(0, 0).join();
+
+        // Same content, the packet is only created once
+        assertSame(firstChunk.chunkCache.body(), secondChunk.chunkCache.body());
+
+        first.setBlock(0, 50, 0, Block.STONE);
+        assertNotSame(firstChunk.chunkCache.body(), secondChunk.chunkCache.body());
+
+        env.destroyInstance(first);
+        env.destroyInstance(second);
+    }
+}
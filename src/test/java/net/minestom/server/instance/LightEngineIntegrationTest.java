@@ -0,0 +1,73 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnvTest
+public class LightEngineIntegrationTest {
+
+    @Test
+    public void skyLight(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = (DynamicChunk) instance.loadChunk(0, 0).join();
+        // Roof above the center of the chunk
+        for (int x = 7; x <= 9; x++) {
+            for (int z = 7; z <= 9; z++) {
+                instance.setBlock(x, 50, z, Block.STONE);
+            }
+        }
+        LightEngine.relight(chunk).join();
+
+        assertEquals(15, skyLight(chunk, 0, 40, 0));
+        assertEquals(0, skyLight(chunk, 0, 39, 0));
+        assertEquals(15, skyLight(chunk, 6, 45, 8));
+        assertEquals(14, skyLight(chunk, 7, 45, 8));
+        assertEquals(13, skyLight(chunk, 8, 45, 8));
+        assertEquals(15, skyLight(chunk, 8, 51, 8));
+        // Fully covered sections do not store any light
+        assertEquals(0, chunk.getSection(0).getSkyLight().length);
+    }
+
+    @Test
+    public void removedBorderLight(Env env) throws InterruptedException {
+        var instance = env.createFlatInstance();
+        var first = (DynamicChunk) instance.loadChunk(0, 0).join();
+        var second = (DynamicChunk) instance.loadChunk(1, 0).join();
+        instance.setBlock(15, 45, 8, Block.GLOWSTONE);
+        LightEngine.relight(first).join();
+        LightEngine.relight(second).join();
+        assertEquals(15, blockLight(first, 15, 45, 8));
+        assertEquals(14, blockLight(second, 0, 45, 8));
+
+        instance.setBlock(15, 45, 8, Block.AIR);
+        LightEngine.relight(first).join();
+        // The light of the second chunk must not be taken back while it is relit
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (blockLight(first, 15, 45, 8) != 0 || blockLight(second, 0, 45, 8) != 0) {
+            assertTrue(System.nanoTime() < deadline, "Removed light remained at the border");
+            Thread.sleep(1);
+        }
+    }
+
+    private static int skyLight(Chunk chunk, int x, int y, int z) {
+        return get(chunk.getSectionAt(y).getSkyLight(), x, y, z);
+    }
+
+    private static int blockLight(Chunk chunk, int x, int y, int z) {
+        return get(chunk.getSectionAt(y).getBlockLight(), x, y, z);
+    }
+
+    private static int get(byte[] light, int x, int y, int z) {
+        if (light.length == 0) return 0;
+        final int index = (y & 0xF) << 8 | z << 4 | x;
+        final int value = light[index >> 1];
+        return (index & 1) == 0 ? value & 0xF : value >> 4 & 0xF;
+    }
+}
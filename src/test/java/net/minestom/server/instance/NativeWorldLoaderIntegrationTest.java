@@ -0,0 +1,118 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class NativeWorldLoaderIntegrationTest {
+    private static final Path ANVIL_WORLD = Path.of("src", "test", "resources", "net", "minestom", "server", "instance", "anvil_loader");
+
+    @Test
+    public void saveAndLoad(Env env, @TempDir Path folder) {
+        for (NativeWorldLoader.Compression compression : NativeWorldLoader.Compression.values()) {
+            final Path path = folder.resolve(compression.name().toLowerCase() + ".world");
+            var instance = env.createFlatInstance(new NativeWorldLoader(path, compression));
+            instance.loadChunk(0, 0).join();
+            instance.loadChunk(1, 0).join();
+            instance.setBlock(1, 41, 1, Block.STONE);
+            instance.setBlock(2, 41, 2, Block.CHEST.withTag(Tag.String("name"), "value"));
+            instance.setBlock(3, 41, 3, Block.STONE.withHandler(MinecraftServer.getBlockManager().getHandlerOrDummy("test:handler")));
+            instance.setBlock(17, 0, 0, Block.GRASS_BLOCK);
+            instance.setTag(Tag.Integer("data"), 5);
+            instance.saveInstance().join();
+            instance.saveChunksToStorage().join();
+
+            var loaded = env.createFlatInstance(new NativeWorldLoader(path, compression));
+            assertEquals(5, loaded.getTag(Tag.Integer("data")));
+            assertSameChunk(instance.getChunk(0, 0), loaded.loadChunk(0, 0).join());
+            assertSameChunk(instance.getChunk(1, 0), loaded.loadChunk(1, 0).join());
+            assertEquals("value", loaded.getBlock(2, 41, 2).getTag(Tag.String("name")));
+            assertEquals("test:handler", loaded.getBlock(3, 41, 3).handler().getNamespaceId().asString());
+            assertEquals(Block.GRASS_BLOCK, loaded.getBlock(17, 0, 0));
+
+            // Saving a single chunk keeps the others
+            instance.setBlock(1, 42, 1, Block.DIRT);
+            instance.saveChunkToStorage(instance.getChunk(0, 0)).join();
+            var reloaded = env.createFlatInstance(new NativeWorldLoader(path, compression));
+            assertEquals(Block.DIRT, reloaded.loadChunk(0, 0).join().getBlock(1, 42, 1));
+            assertEquals(Block.GRASS_BLOCK, reloaded.loadChunk(1, 0).join().getBlock(17, 0, 0));
+
+            env.destroyInstance(instance);
+            env.destroyInstance(loaded);
+            env.destroyInstance(reloaded);
+        }
+    }
+
+    @Test
+    public void importAnvil(Env env, @TempDir Path folder) throws IOException {
+        // Region files are opened for writing, use a copy
+        final Path anvilFolder = folder.resolve("anvil");
+        Files.createDirectories(anvilFolder.resolve("region"));
+        try (var files = Files.list(ANVIL_WORLD.resolve("region"))) {
+            for (Path file : files.toList()) {
+                Files.copy(file, anvilFolder.resolve("region").resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        var anvilInstance = env.createFlatInstance(new AnvilLoader(anvilFolder));
+        var loader = new NativeWorldLoader(folder.resolve("native.world"));
+        assertTrue(loader.importAnvil(anvilInstance, anvilFolder) > 0);
+
+        // Same content as the anvil world
+        var instance = env.createFlatInstance(loader);
+        for (int chunkX = -2; chunkX <= 1; chunkX++) {
+            for (int chunkZ = -2; chunkZ <= 1; chunkZ++) {
+                assertSameChunk(anvilInstance.loadChunk(chunkX, chunkZ).join(), instance.loadChunk(chunkX, chunkZ).join());
+            }
+        }
+        assertEquals(Block.OAK_PLANKS, instance.getBlock(-1, 1, -3));
+        assertEquals(Block.POTTED_POPPY, instance.getBlock(-1, 2, -3));
+
+        env.destroyInstance(anvilInstance);
+        env.destroyInstance(instance);
+    }
+
+    private static void assertSameChunk(Chunk expected, Chunk actual) {
+        assertEquals(expected.getChunkX(), actual.getChunkX());
+        assertEquals(expected.getChunkZ(), actual.getChunkZ());
+        final List<Section> expectedSections = expected.getSections();
+        final List<Section> actualSections = actual.getSections();
+        assertEquals(expectedSections.size(), actualSections.size());
+        for (int i = 0; i < expectedSections.size(); i++) {
+            final Section expectedSection = expectedSections.get(i);
+            final Section actualSection = actualSections.get(i);
+            // Compare the values, the palettes may be stored differently
+            synchronized (expected) {
+                expectedSection.blockPalette().getAll((x, y, z, value) ->
+                        assertEquals(value, actualSection.blockPalette().get(x, y, z)));
+                expectedSection.biomePalette().getAll((x, y, z, value) ->
+                        assertEquals(value, actualSection.biomePalette().get(x, y, z)));
+            }
+        }
+        synchronized (expected) {
+            synchronized (actual) {
+                assertEquals(expected.getEntries().keySet(), actual.getEntries().keySet());
+                expected.getEntries().forEach((index, block) -> {
+                    final Block actualBlock = actual.getEntries().get((int) index);
+                    assertEquals(block.stateId(), actualBlock.stateId());
+                    assertEquals(block.nbt(), actualBlock.nbt());
+                    // Dummy handlers are created for each block
+                    assertEquals(block.handler() != null ? block.handler().getNamespaceId() : null,
+                            actualBlock.handler() != null ? actualBlock.handler().getNamespaceId() : null);
+                });
+            }
+        }
+    }
+}
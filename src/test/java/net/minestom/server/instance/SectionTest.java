@@ -0,0 +1,43 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.network.NetworkBuffer;
+import org.junit.jupiter.api.Test;
+
+import static net.minestom.server.network.NetworkBuffer.SHORT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionTest {
+
+    @Test
+    public void encodingCache() {
+        Section section = new Section();
+        final byte[] empty = section.encoded();
+        assertSame(empty, section.encoded());
+        assertArrayEquals(encode(section), empty);
+
+        // Direct palette modifications are detected
+        section.blockPalette().set(0, 0, 0, 1);
+        final byte[] modified = section.encoded();
+        assertNotSame(empty, modified);
+        assertArrayEquals(encode(section), modified);
+
+        Section copy = section.clone();
+        assertSame(modified, copy.encoded());
+        copy.blockPalette().set(1, 0, 0, 1);
+        assertSame(modified, section.encoded());
+        assertArrayEquals(encode(copy), copy.encoded());
+
+        section.biomePalette().fill(1);
+        assertArrayEquals(encode(section), section.encoded());
+        section.invalidate();
+        assertArrayEquals(encode(section), section.encoded());
+    }
+
+    private static byte[] encode(Section section) {
+        return NetworkBuffer.makeArray(buffer -> {
+            buffer.write(SHORT, (short) section.blockPalette().count());
+            buffer.write(section.blockPalette());
+            buffer.write(section.biomePalette());
+        });
+    }
+}
@@ -2,8 +2,11 @@ package net.minestom.server.instance.palette;
 
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.network.NetworkBuffer;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -273,6 +276,37 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void copyOnWrite() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            palette.setAll((x, y, z) -> x + y + z + 1);
+            Palette copy = palette.clone();
+            assertSame(((AdaptivePalette) palette).palette, ((AdaptivePalette) copy).palette);
+
+            palette.set(0, 0, 0, 100);
+            assertEquals(100, palette.get(0, 0, 0));
+            assertEquals(1, copy.get(0, 0, 0));
+
+            copy.fill(5);
+            assertEquals(5, copy.get(1, 1, 1));
+            assertEquals(4, palette.get(1, 1, 1));
+        }
+    }
+
+    @Test
+    public void copyOnWriteOptimization() {
+        Palette palette = Palette.newPalette(16, 8, 2);
+        palette.setAll((x, y, z) -> x + 1);
+        palette.replaceAll((x, y, z, value) -> x % 2);
+        Palette copy = palette.clone();
+        final int bitsPerEntry = copy.bitsPerEntry();
+        // Writing optimizes the palette, which must not modify the copy
+        NetworkBuffer.makeArray(buffer -> buffer.write(palette));
+        assertEquals(bitsPerEntry, copy.bitsPerEntry());
+        copy.getAll((x, y, z, value) -> assertEquals(x % 2, value));
+    }
+
     @Test
     public void dimension() {
         assertThrows(Exception.class, () -> Palette.newPalette(-4, 5, 3));
@@ -285,6 +319,62 @@ public class PaletteTest {
         assertDoesNotThrow(() -> Palette.newPalette(16, 5, 3));
     }
 
+    @Test
+    public void allIndexes() {
+        for (Palette palette : testPalettes()) {
+            int[] indexes = new int[palette.maxSize()];
+            // Filled
+            palette.fill(7);
+            int[] values = palette.getAllIndexes(indexes);
+            for (int index : indexes) assertEquals(7, values[index]);
+
+            // Palette then direct values
+            for (int max : new int[]{3, 500}) {
+                palette.setAll((x, y, z) -> (x + y * 3 + z * 7) % max);
+                values = palette.getAllIndexes(indexes);
+                final int dimension = palette.dimension();
+                final int[] finalValues = values;
+                palette.getAll((x, y, z, value) ->
+                        assertEquals(value, finalValues[indexes[(y * dimension + z) * dimension + x]]));
+            }
+        }
+    }
+
+    @Test
+    public void read() {
+        for (Palette palette : testPalettes()) {
+            // Filled, palette then direct values
+            for (int max : new int[]{1, 3, 500}) {
+                palette.setAll((x, y, z) -> max == 1 ? 5 : (x + y * 3 + z * 7) % max);
+                final byte[] bytes = NetworkBuffer.makeArray(buffer -> buffer.write(palette));
+                Palette result = Palette.newPalette(palette.dimension(), 5, 3);
+                result.set(0, 0, 0, 42);
+                NetworkBuffer buffer = new NetworkBuffer(ByteBuffer.wrap(bytes), false);
+                buffer.writeIndex(bytes.length);
+                result.read(buffer);
+                assertEquals(bytes.length, buffer.readIndex());
+                assertEquals(palette.count(), result.count());
+                palette.getAll((x, y, z, value) -> assertEquals(value, result.get(x, y, z)));
+            }
+        }
+    }
+
+    @Test
+    public void readInvalidIndex() {
+        // Every index refers to the fourth entry of a two entries palette
+        long[] values = new long[16 * 16 * 16 / 16];
+        Arrays.fill(values, 0x3333333333333333L);
+        final byte[] bytes = NetworkBuffer.makeArray(buffer -> {
+            buffer.write(NetworkBuffer.BYTE, (byte) 4);
+            buffer.write(NetworkBuffer.VAR_INT_ARRAY, new int[]{0, 7});
+            buffer.write(NetworkBuffer.LONG_ARRAY, values);
+        });
+        Palette palette = Palette.newPalette(16, 5, 3);
+        NetworkBuffer buffer = new NetworkBuffer(ByteBuffer.wrap(bytes), false);
+        buffer.writeIndex(bytes.length);
+        assertThrows(IndexOutOfBoundsException.class, () -> palette.read(buffer));
+    }
+
     private static List<Palette> testPalettes() {
         return List.of(
                 Palette.newPalette(2, 5, 3),
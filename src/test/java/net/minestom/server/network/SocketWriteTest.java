@@ -8,6 +8,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static net.minestom.server.network.NetworkBuffer.INT;
 import static net.minestom.server.network.NetworkBuffer.STRING;
@@ -105,4 +106,16 @@ public class SocketWriteTest {
         // The 3 bytes var-int length is hardcoded for performance purpose, could change in the future
         assertEquals((3 + 3 + 1 + 4) * 2, buffer.position(), "Invalid buffer position");
     }
+
+    @Test
+    public void writePipelineCompressed() {
+        // The compression pipeline must produce the same frames as PacketUtils
+        for (ServerPacket packet : List.of(new IntPacket(5), new CompressiblePacket("Hello world!".repeat(2000)))) {
+            var expected = PacketUtils.createFramedPacket(ObjectPool.PACKET_POOL.get(), packet, true);
+            var content = CompressionPipeline.serialize(ObjectPool.PACKET_POOL.get(), packet);
+            assertEquals(expected, CompressionPipeline.frame(content.duplicate(), ObjectPool.PACKET_POOL.get()));
+            assertEquals(expected, CompressionPipeline.frameAsync(content.duplicate()).join());
+            assertEquals(expected, CompressionPipeline.frame(packet).body());
+        }
+    }
 }
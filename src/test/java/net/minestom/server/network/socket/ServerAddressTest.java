@@ -1,12 +1,26 @@
 package net.minestom.server.network.socket;
 
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.packet.client.handshake.HandshakePacket;
+import net.minestom.server.network.player.PlayerSocketConnection;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
 import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,6 +67,73 @@ public class ServerAddressTest {
         assertFalse(Files.exists(address.getPath()), "The socket file should be deleted");
     }
 
+    @Test
+    public void readyQueueTransportTest() throws IOException {
+        InetSocketAddress address = new InetSocketAddress("localhost", 0);
+        var server = new Server(new PacketProcessor(), Transport.READY_QUEUE);
+        server.init(address);
+        assertSame(address, server.socketAddress());
+        assertNotEquals(address.getPort(), server.getPort());
+
+        assertDoesNotThrow(server::start);
+        assertDoesNotThrow(server::stop);
+    }
+
+    @Test
+    public void readyQueueTransferTest() throws IOException {
+        List<Worker> workers = new CopyOnWriteArrayList<>();
+        var server = new Server(new PacketProcessor(), s -> {
+            final Worker worker = Transport.READY_QUEUE.createWorker(s);
+            workers.add(worker);
+            return worker;
+        });
+        server.init(new InetSocketAddress("localhost", 0));
+        server.start();
+        try (SocketChannel client = SocketChannel.open()) {
+            // Small receive buffer, so that the server socket buffer fills up
+            client.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            client.connect(new InetSocketAddress("localhost", server.getPort()));
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                final Worker worker = await(() -> workers.stream()
+                        .filter(w -> !w.connectionMap.isEmpty()).findFirst().orElse(null));
+                final PlayerSocketConnection connection = worker.connectionMap.values().iterator().next();
+
+                // Read, the handshake switches the connection to the status state
+                final byte[] handshake = NetworkBuffer.makeArray(writer -> {
+                    writer.write(NetworkBuffer.VAR_INT, 0);
+                    writer.write(new HandshakePacket(MinecraftServer.PROTOCOL_VERSION, "localhost", server.getPort(), 1));
+                });
+                client.write(ByteBuffer.wrap(NetworkBuffer.makeArray(writer -> {
+                    writer.write(NetworkBuffer.VAR_INT, handshake.length);
+                    writer.write(NetworkBuffer.RAW_BYTES, handshake);
+                })));
+                await(() -> connection.getConnectionState() == ConnectionState.STATUS ? true : null);
+
+                // Write more than the socket buffers can hold, the worker must wait for the socket to be writable
+                final byte[] data = new byte[4 * 1024 * 1024];
+                new Random(0).nextBytes(data);
+                connection.write(ByteBuffer.wrap(data));
+                final SelectionKey key = connection.getChannel().keyFor(worker.selector);
+                await(() -> (key.interestOps() & SelectionKey.OP_WRITE) != 0 ? true : null);
+
+                // Reading lets the worker flush the rest
+                ByteBuffer received = ByteBuffer.allocate(data.length);
+                while (received.hasRemaining()) {
+                    if (client.read(received) < 0) break;
+                }
+                assertArrayEquals(data, received.array());
+            });
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static <T> T await(Supplier<T> supplier) throws InterruptedException {
+        T result;
+        while ((result = supplier.get()) == null) Thread.sleep(1);
+        return result;
+    }
+
     @Test
     public void noAddressTest() throws IOException {
         var server = new Server(new PacketProcessor());
@@ -4,10 +4,15 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AcquirableTest {
 
@@ -41,4 +46,98 @@ public class AcquirableTest {
 
         assertNotEquals(firstThread, secondThread);
     }
+
+    @Test
+    public void acquireMovedElement() throws InterruptedException {
+        TickThread first = new TickThread("first");
+        TickThread second = new TickThread("second");
+        AcquirableImpl<Object> acquirable = new AcquirableImpl<>(new Object());
+        acquirable.updateThread(first);
+
+        first.lock.lock();
+        AtomicBoolean secondLocked = new AtomicBoolean();
+        Thread thread = new Thread(() -> acquirable.sync(value -> secondLocked.set(second.lock.isLocked())));
+        thread.start();
+        while (!first.lock.hasQueuedThread(thread)) Thread.onSpinWait();
+        // Moved to another thread (e.g. stolen) while the acquisition waits
+        acquirable.updateThread(second);
+        first.lock.unlock();
+        thread.join(5000);
+        assertTrue(secondLocked.get(), "The new thread of the element must be locked");
+    }
+
+    @Test
+    public void outOfOrderWhileReenteringOwnLock() {
+        TickThread first = new TickThread("first");
+        TickThread second = new TickThread("second");
+        second.start();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                final Thread current = Thread.currentThread();
+                ReentrantLock firstLock = AcquirableImpl.enter(current, first);
+                // The second thread releases its own lock while waiting for the first one
+                CountDownLatch latch = new CountDownLatch(1);
+                second.startTask(latch, () -> AcquirableImpl.leave(AcquirableImpl.enter(second, first)));
+                while (!first.lock.hasQueuedThread(second)) Thread.onSpinWait();
+                ReentrantLock secondLock = AcquirableImpl.enter(current, second);
+                AcquirableImpl.leave(firstLock);
+                // The second thread holds the first lock and waits for its own lock
+                while (!second.lock.hasQueuedThread(second)) Thread.onSpinWait();
+                // Out of order, the second lock is released until the first one is acquired
+                ReentrantLock nestedLock = AcquirableImpl.enter(current, first);
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+                assertTrue(first.lock.isHeldByCurrentThread());
+                assertTrue(second.lock.isHeldByCurrentThread());
+                AcquirableImpl.leave(nestedLock);
+                AcquirableImpl.leave(secondLock);
+                assertFalse(first.lock.isLocked());
+                assertFalse(second.lock.isLocked());
+            });
+        } finally {
+            second.shutdown();
+        }
+    }
+
+    @Test
+    public void crossAcquisition() {
+        AtomicInteger acquisitions = new AtomicInteger();
+        class AcquiringEntity extends Entity {
+            Entity target;
+
+            AcquiringEntity() {
+                super(EntityType.ZOMBIE);
+            }
+
+            @Override
+            public void tick(long time) {
+                super.tick(time);
+                // Both threads acquire the element of the other one
+                for (int i = 0; i < 100; i++) {
+                    target.getAcquirable().sync(entity -> acquisitions.incrementAndGet());
+                }
+            }
+        }
+        AcquiringEntity first = new AcquiringEntity();
+        AcquiringEntity second = new AcquiringEntity();
+        first.target = second;
+        second.target = first;
+        Object firstPartition = new Object();
+        Object secondPartition = new Object();
+
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        dispatcher.createPartition(firstPartition);
+        dispatcher.createPartition(secondPartition);
+        dispatcher.updateElement(first, firstPartition);
+        dispatcher.updateElement(second, secondPartition);
+        Acquirable.resetContention();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        dispatcher.shutdown();
+        assertEquals(2000, acquisitions.get());
+        for (Acquirable.Contention contention : Acquirable.resetContention()) {
+            assertNotEquals(contention.thread(), contention.target());
+            assertTrue(contention.acquisitions() > 0);
+        }
+    }
 }
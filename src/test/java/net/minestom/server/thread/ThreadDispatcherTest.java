@@ -4,14 +4,21 @@ import net.minestom.server.Tickable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjLongConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static net.minestom.testing.TestUtils.waitUntilCleared;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ThreadDispatcherTest {
@@ -167,4 +174,134 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void workStealing() {
+        // Ensure that idle threads steal partitions while keeping them ticked once per tick
+        final int threadCount = 4;
+        final int partitionCount = 32;
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.workStealing(partition -> 0, threadCount);
+        assertTrue(dispatcher.isWorkStealing());
+
+        Set<Thread> threads = new CopyOnWriteArraySet<>();
+        Map<Tickable, AtomicInteger> counters = new ConcurrentHashMap<>();
+        Set<Tickable> partitions = IntStream.range(0, partitionCount)
+                .mapToObj(value -> {
+                    final AtomicInteger counter = new AtomicInteger();
+                    final Tickable tickable = new Tickable() {
+                        private final AtomicBoolean ticking = new AtomicBoolean();
+
+                        @Override
+                        public void tick(long time) {
+                            assertInstanceOf(TickThread.class, Thread.currentThread());
+                            assertTrue(ticking.compareAndSet(false, true), "Partition ticked concurrently");
+                            threads.add(Thread.currentThread());
+                            counter.incrementAndGet();
+                            LockSupport.parkNanos(1_000_000);
+                            ticking.set(false);
+                        }
+                    };
+                    counters.put(tickable, counter);
+                    return tickable;
+                })
+                .collect(Collectors.toUnmodifiableSet());
+
+        partitions.forEach(dispatcher::createPartition);
+        for (int i = 0; i < 5; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            for (AtomicInteger counter : counters.values()) {
+                assertEquals(i + 1, counter.get());
+            }
+        }
+        assertTrue(threads.size() > 1, "No partition has been stolen");
+
+        final int total = dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).sum();
+        assertEquals(partitionCount, total);
+        for (TickThread thread : dispatcher.threads()) {
+            for (ThreadDispatcher.Partition entry : thread.entries()) {
+                assertSame(thread, entry.thread());
+            }
+        }
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancedProvider() {
+        // Ensure that partitions are spread based on their cost
+        final long[] costs = {100, 50, 50, 40, 30, 30, 0};
+        final List<Object> partitions = IntStream.range(0, costs.length).mapToObj(value -> new Object()).toList();
+        ThreadProvider<Object> provider = ThreadProvider.balanced(1);
+        assertEquals(ThreadProvider.RefreshType.ALWAYS, provider.refreshType());
+        provider.refresh(new ThreadProvider.Costs<>() {
+            @Override
+            public int threadCount() {
+                return 2;
+            }
+
+            @Override
+            public void forEach(@NotNull ObjLongConsumer<Object> consumer) {
+                for (int i = 0; i < costs.length; i++) consumer.accept(partitions.get(i), costs[i]);
+            }
+        });
+
+        long[] loads = new long[2];
+        for (int i = 0; i < costs.length; i++) {
+            final int thread = provider.findThread(partitions.get(i));
+            assertTrue(thread == 0 || thread == 1);
+            loads[thread] += costs[i];
+        }
+        assertEquals(300, loads[0] + loads[1]);
+        assertTrue(Math.abs(loads[0] - loads[1]) <= 30, "Unbalanced threads: " + Arrays.toString(loads));
+        // Unknown partitions go to the lightest thread
+        final int thread = provider.findThread(new Object());
+        assertEquals(loads[0] <= loads[1] ? 0 : 1, thread);
+        // Many new partitions before the next refresh are spread
+        int[] counts = new int[2];
+        for (int i = 0; i < 20; i++) counts[provider.findThread(new Object())]++;
+        assertTrue(Math.abs(counts[0] - counts[1]) <= 2, "Unbalanced new partitions: " + Arrays.toString(counts));
+    }
+
+    @Test
+    public void balancedProviderRemoval() {
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(1), 2);
+        Object partition = new Object();
+        dispatcher.createPartition(partition);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+
+        // The provider does not retain removed partitions
+        var ref = new WeakReference<>(partition);
+        dispatcher.deletePartition(partition);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        //noinspection UnusedAssignment
+        partition = null;
+        waitUntilCleared(ref);
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void forEachParallel() {
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 4);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger counter = new AtomicInteger();
+        List<Integer> elements = IntStream.range(0, 1000).boxed().toList();
+        for (int i = 0; i < 3; i++) {
+            dispatcher.forEachParallel(elements, element -> {
+                threads.add(Thread.currentThread());
+                counter.incrementAndGet();
+            });
+        }
+        assertEquals(3000, counter.get());
+        assertFalse(threads.isEmpty());
+
+        // Ticking still works after running tasks
+        var partition = new Object();
+        dispatcher.createPartition(partition);
+        Tickable element = (time) -> counter.incrementAndGet();
+        dispatcher.updateElement(element, partition);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(3001, counter.get());
+        dispatcher.shutdown();
+    }
 }
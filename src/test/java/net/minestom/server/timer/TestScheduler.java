@@ -3,8 +3,13 @@ package net.minestom.server.timer;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +30,26 @@ public class TestScheduler {
         assertFalse(task.isAlive(), "Tick task should be cancelled after execution");
     }
 
+    @Test
+    public void longTickTask() {
+        // Delays longer than a wheel round
+        Scheduler scheduler = Scheduler.newScheduler();
+        AtomicInteger executed = new AtomicInteger();
+        List<Task> cancelled = new ArrayList<>();
+        for (int delay = 1; delay <= 1000; delay++) {
+            final int target = delay;
+            final Task task = scheduler.buildTask(() -> executed.incrementAndGet())
+                    .delay(TaskSchedule.tick(target))
+                    .schedule();
+            if (delay % 2 == 0) cancelled.add(task);
+        }
+        cancelled.forEach(Task::cancel);
+        for (int tick = 1; tick <= 1000; tick++) {
+            scheduler.processTick();
+            assertEquals((tick + 1) / 2, executed.get(), "Tasks must be executed on their tick");
+        }
+    }
+
     @Test
     public void durationTask() throws InterruptedException {
         Scheduler scheduler = Scheduler.newScheduler();
@@ -139,4 +164,21 @@ public class TestScheduler {
         Thread.sleep(250);
         assertTrue(result.get(), "Async task didn't get executed");
     }
+
+    @Test
+    public void virtualTask() throws InterruptedException {
+        final Thread currentThread = Thread.currentThread();
+        Scheduler scheduler = Scheduler.newScheduler();
+        CountDownLatch latch = new CountDownLatch(1);
+        var task = scheduler.buildTask(() -> {
+                    assertNotEquals(currentThread, Thread.currentThread(),
+                            "Task should be executed in a different thread");
+                    latch.countDown();
+                })
+                .executionType(ExecutionType.VIRTUAL)
+                .schedule();
+        assertEquals(ExecutionType.VIRTUAL, task.executionType());
+        scheduler.process();
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Virtual task didn't get executed");
+    }
 }